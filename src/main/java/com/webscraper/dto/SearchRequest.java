@@ -1,5 +1,7 @@
 package com.webscraper.dto;
 
+import com.webscraper.enums.SearchMode;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -18,4 +20,22 @@ public class SearchRequest {
 
     @Min(value = 1, message = "Limit must be at least 1")
     private Integer limit = 10;
+
+    /**
+     * How {@link #prefix} is interpreted: a literal prefix, a literal suffix, a glob pattern such
+     * as {@code te?h*}, a boolean query over prefixes such as {@code block AND chain NOT spam},
+     * or text that the keyword or page text must contain.
+     */
+    @Builder.Default
+    private SearchMode mode = SearchMode.PREFIX;
+
+    /**
+     * Match keywords within {@link #maxEdits} typos of the prefix. Applies to {@link SearchMode#PREFIX}.
+     */
+    private boolean fuzzy;
+
+    @Min(value = 1, message = "Max edits must be at least 1")
+    @Max(value = 2, message = "Max edits must be at most 2")
+    @Builder.Default
+    private int maxEdits = 1;
 }
@@ -0,0 +1,9 @@
+package com.webscraper.enums;
+
+public enum SearchMode {
+    PREFIX,
+    SUFFIX,
+    PATTERN,
+    BOOLEAN,
+    CONTAINS
+}
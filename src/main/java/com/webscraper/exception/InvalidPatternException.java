@@ -0,0 +1,7 @@
+package com.webscraper.exception;
+
+public class InvalidPatternException extends RuntimeException {
+    public InvalidPatternException(String message) {
+        super(message);
+    }
+}
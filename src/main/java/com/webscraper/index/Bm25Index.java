@@ -0,0 +1,396 @@
+package com.webscraper.index;
+
+import com.webscraper.entity.ScrapedData;
+import com.webscraper.service.KeywordTokenizer;
+import com.webscraper.trie.PrefixMap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the page text of scraped data, ranking rows by BM25.
+ * <p>
+ * Every row gets a dense document number in the order it is added. Each term keeps its
+ * postings as ascending document numbers with the term's frequency in each, plus the
+ * largest frequency and the shortest document among them; together with the term's idf those
+ * give an upper bound on the score the term can add to any document.
+ * <p>
+ * Queries keep a top-K heap and use MaxScore to stop early: terms are ordered by upper bound,
+ * and once the heap is full, the lowest-bound terms whose bounds together cannot beat the
+ * K-th score stop producing candidates. They are only probed, with galloping search, for
+ * documents the other terms produce, and probing stops as soon as the remaining bounds cannot
+ * lift the document into the heap. A common prefix that expands to dozens of terms therefore
+ * scores a small fraction of its postings. Adds take a write lock, queries a read lock.
+ * <p>
+ * Terms are split from the page text with the separators and minimum word length of
+ * {@link KeywordTokenizer}. Indexed row ids are kept in a bitmap, one bit per id, since ids
+ * are assigned densely.
+ */
+@Component
+public class Bm25Index {
+
+    /**
+     * Most terms a prefix expands to; the ones found in the most documents are kept.
+     */
+    public static final int MAX_EXPANSIONS = 64;
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private final PrefixMap<TermPostings> terms = new PrefixMap<>();
+    private final BitSet indexed = new BitSet();
+    private final Set<Long> indexedBeyondBitmap = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] rowIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int documentCount;
+    private long totalLength;
+
+    /**
+     * Index the page text of saved rows. Rows without an id are skipped; adding a row twice
+     * has no effect.
+     *
+     * @param rows the rows to index
+     */
+    public void addAll(Collection<ScrapedData> rows) {
+        lock.writeLock().lock();
+        try {
+            for (ScrapedData row : rows) {
+                if (row.getId() != null && markIndexed(row.getId())) {
+                    add(row.getId(), row.getContent());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank the rows containing any term that starts with a prefix. The prefix expands to at
+     * most {@link #MAX_EXPANSIONS} terms.
+     *
+     * @param prefix the prefix to search
+     * @param limit  maximum number of rows
+     * @return row ids, best first; ties go to the row indexed first
+     */
+    public List<Long> searchPrefix(String prefix, int limit) {
+        String normalizedPrefix = prefix == null ? "" : prefix.toLowerCase().trim();
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<TermPostings> mostFrequent = new PriorityQueue<>(
+                    Comparator.comparingInt((TermPostings postings) -> postings.size));
+            terms.forEachWithPrefix(normalizedPrefix, (term, postings) -> {
+                mostFrequent.add(postings);
+                if (mostFrequent.size() > MAX_EXPANSIONS) {
+                    mostFrequent.poll();
+                }
+            });
+            return rank(new ArrayList<>(mostFrequent), limit, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank the rows containing any of the given terms.
+     *
+     * @param queryTerms the terms to score; unknown terms are ignored
+     * @param limit      maximum number of rows
+     * @return row ids, best first; ties go to the row indexed first
+     */
+    public List<Long> search(Collection<String> queryTerms, int limit) {
+        return search(queryTerms, limit, true);
+    }
+
+    /**
+     * Same ranking as {@link #search(Collection, int)}, scoring every posting of every term.
+     * Exists to check and measure the pruning.
+     */
+    List<Long> searchWithoutPruning(Collection<String> queryTerms, int limit) {
+        return search(queryTerms, limit, false);
+    }
+
+    /**
+     * @return number of rows indexed
+     */
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of distinct terms
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record a row id as indexed. Caller holds the write lock.
+     *
+     * @return false if the row was already indexed
+     */
+    private boolean markIndexed(long rowId) {
+        if (rowId < 0 || rowId > Integer.MAX_VALUE) {
+            return indexedBeyondBitmap.add(rowId);
+        }
+        if (indexed.get((int) rowId)) {
+            return false;
+        }
+        indexed.set((int) rowId);
+        return true;
+    }
+
+    private List<Long> search(Collection<String> queryTerms, int limit, boolean prune) {
+        if (queryTerms == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TermPostings> postings = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (String term : queryTerms) {
+                String normalizedTerm = term == null ? "" : term.toLowerCase().trim();
+                TermPostings termPostings = seen.add(normalizedTerm) ? terms.get(normalizedTerm) : null;
+                if (termPostings != null) {
+                    postings.add(termPostings);
+                }
+            }
+            return rank(postings, limit, prune);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(long rowId, String content) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = 0;
+        if (content != null) {
+            for (String token : KeywordTokenizer.SEPARATORS.split(content.toLowerCase())) {
+                if (token.length() >= KeywordTokenizer.MIN_WORD_LENGTH) {
+                    frequencies.computeIfAbsent(token, t -> new int[1])[0]++;
+                    length++;
+                }
+            }
+        }
+
+        int document = documentCount;
+        if (document == rowIds.length) {
+            rowIds = Arrays.copyOf(rowIds, document * 2);
+            lengths = Arrays.copyOf(lengths, document * 2);
+        }
+        rowIds[document] = rowId;
+        lengths[document] = length;
+        documentCount++;
+        totalLength += length;
+
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), term -> new TermPostings())
+                    .add(document, entry.getValue()[0], length);
+        }
+    }
+
+    /**
+     * MaxScore top-K over the given terms' postings. Caller holds the read lock.
+     */
+    private List<Long> rank(List<TermPostings> postings, int limit, boolean prune) {
+        List<Long> results = new ArrayList<>();
+        if (postings.isEmpty() || documentCount == 0) {
+            return results;
+        }
+
+        double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+        TermCursor[] cursors = new TermCursor[postings.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new TermCursor(postings.get(i), documentCount, averageLength);
+        }
+        Arrays.sort(cursors, Comparator.comparingDouble(cursor -> cursor.upperBound));
+
+        // bounds[i] = sum of the upper bounds of cursors[0..i]
+        double[] bounds = new double[cursors.length];
+        for (int i = 0; i < cursors.length; i++) {
+            bounds[i] = cursors[i].upperBound + (i > 0 ? bounds[i - 1] : 0);
+        }
+
+        PriorityQueue<ScoredDocument> top = new PriorityQueue<>(limit + 1, ScoredDocument.WORST_FIRST);
+        double threshold = -1;
+        int firstEssential = 0;
+
+        int document = nextDocument(cursors, firstEssential);
+        while (document != Integer.MAX_VALUE) {
+            // Score the essential terms and find the next candidate in the same pass
+            double score = 0;
+            int next = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < cursors.length; i++) {
+                TermCursor cursor = cursors[i];
+                if (cursor.document() == document) {
+                    score += cursor.score(lengths[document]);
+                    cursor.position++;
+                }
+                next = Math.min(next, cursor.document());
+            }
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + bounds[i] <= threshold) {
+                    break;
+                }
+                if (cursors[i].advance(document) == document) {
+                    score += cursors[i].score(lengths[document]);
+                }
+            }
+
+            if (top.size() < limit || score > threshold) {
+                top.add(new ScoredDocument(document, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+                if (top.size() == limit) {
+                    threshold = top.peek().score();
+                    int essential = firstEssential;
+                    while (prune && firstEssential < cursors.length && bounds[firstEssential] <= threshold) {
+                        firstEssential++;
+                    }
+                    if (firstEssential != essential) {
+                        next = nextDocument(cursors, firstEssential);
+                    }
+                }
+            }
+            document = next;
+        }
+
+        List<ScoredDocument> ranked = new ArrayList<>(top);
+        ranked.sort(ScoredDocument.WORST_FIRST.reversed());
+        for (ScoredDocument scored : ranked) {
+            results.add(rowIds[scored.document()]);
+        }
+        return results;
+    }
+
+    /**
+     * @return the lowest current document of the essential cursors, {@code cursors[from..]}
+     */
+    private static int nextDocument(TermCursor[] cursors, int from) {
+        int document = Integer.MAX_VALUE;
+        for (int i = from; i < cursors.length; i++) {
+            document = Math.min(document, cursors[i].document());
+        }
+        return document;
+    }
+
+    /**
+     * A term's postings: ascending document numbers and the term's frequency in each.
+     */
+    private static final class TermPostings {
+
+        private int[] documents = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+        private int maxFrequency;
+        private int minLength = Integer.MAX_VALUE;
+
+        private void add(int document, int frequency, int length) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+        }
+    }
+
+    /**
+     * Position in one term's postings during a query, with the term's BM25 weights.
+     */
+    private static final class TermCursor {
+
+        private final TermPostings postings;
+        private final double idf;
+        private final double averageLength;
+        private final double upperBound;
+        private int position;
+
+        private TermCursor(TermPostings postings, int documentCount, double averageLength) {
+            this.postings = postings;
+            this.idf = Math.log(1 + (documentCount - postings.size + 0.5) / (postings.size + 0.5));
+            this.averageLength = averageLength;
+            // The score grows with the frequency and shrinks with the length, so no document
+            // can beat the largest frequency in the shortest document
+            this.upperBound = weight(postings.maxFrequency, postings.minLength);
+        }
+
+        private int document() {
+            return position < postings.size ? postings.documents[position] : Integer.MAX_VALUE;
+        }
+
+        private double score(int length) {
+            return weight(postings.frequencies[position], length);
+        }
+
+        private double weight(int frequency, int length) {
+            return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+        }
+
+        /**
+         * Gallop forward to the first posting at or after the target document.
+         *
+         * @return that posting's document, or {@link Integer#MAX_VALUE} if there is none
+         */
+        private int advance(int target) {
+            int[] documents = postings.documents;
+            int size = postings.size;
+            if (position >= size || documents[position] >= target) {
+                return document();
+            }
+
+            int low = position;
+            int step = 1;
+            int high = position + 1;
+            while (high < size && documents[high] < target) {
+                low = high;
+                high += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(documents, low + 1, Math.min(high + 1, size), target);
+            position = found >= 0 ? found : -found - 1;
+            return document();
+        }
+    }
+
+    private record ScoredDocument(int document, double score) {
+
+        /**
+         * Lower scores first; on equal scores the later document, so earlier documents win ties.
+         */
+        private static final Comparator<ScoredDocument> WORST_FIRST = Comparator
+                .comparingDouble(ScoredDocument::score)
+                .thenComparing(Comparator.comparingInt(ScoredDocument::document).reversed());
+    }
+}
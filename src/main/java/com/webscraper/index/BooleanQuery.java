@@ -0,0 +1,298 @@
+package com.webscraper.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Boolean query over keyword prefixes, such as {@code block AND chain NOT spam}, parsed into a
+ * tree and evaluated entirely against postings.
+ * <p>
+ * Terms are prefixes; a trailing {@code *} is allowed and ignored. The operators are the
+ * upper-case words {@code AND}, {@code OR} and {@code NOT}, adjacent clauses are joined with
+ * {@code AND}, and parentheses group. {@code NOT} binds tightest, then {@code AND}, then
+ * {@code OR}. A negated clause only removes documents, so it must sit in an {@code AND} group
+ * next to at least one positive clause: {@code NOT spam} on its own is rejected.
+ * <p>
+ * Evaluation expands each distinct prefix once to the union of its words' postings, intersects
+ * the positive clauses of every {@code AND} group with skip-based leapfrogging from the
+ * shortest list, and then drops the documents of the negated clauses.
+ */
+public final class BooleanQuery {
+
+    /**
+     * Most terms a query may contain, which bounds how many prefix expansions one search runs.
+     */
+    public static final int MAX_TERMS = 16;
+
+    private final Node root;
+    private final List<String> prefixes;
+
+    private BooleanQuery(Node root, List<String> prefixes) {
+        this.root = root;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Parse a query.
+     *
+     * @param query the query text
+     * @return the parsed query
+     * @throws IllegalArgumentException if the query is malformed, negates without a positive
+     *                                  clause, or has more than {@link #MAX_TERMS} terms
+     */
+    public static BooleanQuery parse(String query) {
+        Parser parser = new Parser(tokenize(query), query);
+        Node root = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.tokens.get(parser.position)
+                    + "' in query: " + query);
+        }
+        root.checkNegations(query);
+        return new BooleanQuery(root, parser.prefixes);
+    }
+
+    /**
+     * @return the query's prefixes, in order of appearance, with repetitions
+     */
+    public List<String> prefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Evaluate the query.
+     *
+     * @param postingsForPrefix expands a prefix to the documents containing a word with it
+     * @return the matching documents
+     */
+    public PostingsList evaluate(Function<String, PostingsList> postingsForPrefix) {
+        Map<String, PostingsList> expanded = new HashMap<>();
+        return root.evaluate(prefix -> expanded.computeIfAbsent(prefix, postingsForPrefix));
+    }
+
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                int start = i;
+                while (i < query.length() && !Character.isWhitespace(query.charAt(i))
+                        && query.charAt(i) != '(' && query.charAt(i) != ')') {
+                    i++;
+                }
+                tokens.add(query.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Recursive-descent parser over the token list.
+     */
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private final String query;
+        private final List<String> prefixes = new ArrayList<>();
+        private int position;
+
+        private Parser(List<String> tokens, String query) {
+            this.tokens = tokens;
+            this.query = query;
+        }
+
+        private Node parseOr() {
+            List<Node> clauses = new ArrayList<>();
+            clauses.add(parseAnd());
+            while (accept("OR")) {
+                clauses.add(parseAnd());
+            }
+            return clauses.size() == 1 ? clauses.get(0) : new Or(clauses);
+        }
+
+        private Node parseAnd() {
+            List<Node> clauses = new ArrayList<>();
+            clauses.add(parseUnary());
+            while (position < tokens.size() && !peek("OR") && !peek(")")) {
+                accept("AND");
+                clauses.add(parseUnary());
+            }
+            return clauses.size() == 1 ? clauses.get(0) : new And(clauses);
+        }
+
+        private Node parseUnary() {
+            if (position == tokens.size()) {
+                throw new IllegalArgumentException("Query ends where a term was expected: " + query);
+            }
+            if (accept("NOT")) {
+                return new Not(parseUnary());
+            }
+            if (accept("(")) {
+                Node inner = parseOr();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Unbalanced parenthesis in query: " + query);
+                }
+                return inner;
+            }
+
+            String token = tokens.get(position);
+            if (token.equals(")") || token.equals("AND") || token.equals("OR")) {
+                throw new IllegalArgumentException("Unexpected '" + token + "' in query: " + query);
+            }
+            position++;
+            String prefix = token.endsWith("*") ? token.substring(0, token.length() - 1) : token;
+            if (prefix.isEmpty() || prefix.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("Invalid term '" + token + "' in query: " + query);
+            }
+            if (prefixes.size() == MAX_TERMS) {
+                throw new IllegalArgumentException("Query has more than " + MAX_TERMS + " terms");
+            }
+            String normalized = prefix.toLowerCase();
+            prefixes.add(normalized);
+            return new Term(normalized);
+        }
+
+        private boolean peek(String token) {
+            return position < tokens.size() && tokens.get(position).equals(token);
+        }
+
+        private boolean accept(String token) {
+            if (peek(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Query tree node.
+     */
+    private abstract static class Node {
+
+        abstract PostingsList evaluate(Function<String, PostingsList> postingsForPrefix);
+
+        /**
+         * Reject negations that have nothing to be subtracted from. Only {@link And} may hold
+         * {@link Not} clauses.
+         */
+        void checkNegations(String query) {
+            throw new IllegalArgumentException("NOT must be joined with AND to a positive term in query: " + query);
+        }
+    }
+
+    private static final class Term extends Node {
+
+        private final String prefix;
+
+        private Term(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        PostingsList evaluate(Function<String, PostingsList> postingsForPrefix) {
+            return postingsForPrefix.apply(prefix);
+        }
+
+        @Override
+        void checkNegations(String query) {
+        }
+    }
+
+    private static final class Not extends Node {
+
+        private final Node negated;
+
+        private Not(Node negated) {
+            this.negated = negated;
+        }
+
+        @Override
+        PostingsList evaluate(Function<String, PostingsList> postingsForPrefix) {
+            throw new IllegalStateException("NOT is evaluated by its enclosing AND");
+        }
+    }
+
+    private static final class Or extends Node {
+
+        private final List<Node> clauses;
+
+        private Or(List<Node> clauses) {
+            this.clauses = clauses;
+        }
+
+        @Override
+        PostingsList evaluate(Function<String, PostingsList> postingsForPrefix) {
+            List<PostingsList> lists = new ArrayList<>(clauses.size());
+            for (Node clause : clauses) {
+                lists.add(clause.evaluate(postingsForPrefix));
+            }
+            return PostingsList.union(lists);
+        }
+
+        @Override
+        void checkNegations(String query) {
+            for (Node clause : clauses) {
+                clause.checkNegations(query);
+            }
+        }
+    }
+
+    private static final class And extends Node {
+
+        private final List<Node> positive = new ArrayList<>();
+        private final List<Node> negated = new ArrayList<>();
+
+        private And(List<Node> clauses) {
+            for (Node clause : clauses) {
+                if (clause instanceof Not not) {
+                    negated.add(not.negated);
+                } else {
+                    positive.add(clause);
+                }
+            }
+        }
+
+        @Override
+        PostingsList evaluate(Function<String, PostingsList> postingsForPrefix) {
+            List<PostingsList> required = new ArrayList<>(positive.size());
+            for (Node clause : positive) {
+                PostingsList postings = clause.evaluate(postingsForPrefix);
+                if (postings.isEmpty()) {
+                    return PostingsList.EMPTY;
+                }
+                required.add(postings);
+            }
+
+            PostingsList result = PostingsList.intersect(required);
+            for (Node clause : negated) {
+                if (result.isEmpty()) {
+                    break;
+                }
+                result = result.andNot(clause.evaluate(postingsForPrefix));
+            }
+            return result;
+        }
+
+        @Override
+        void checkNegations(String query) {
+            if (positive.isEmpty()) {
+                super.checkNegations(query);
+            }
+            for (Node clause : positive) {
+                clause.checkNegations(query);
+            }
+            for (Node clause : negated) {
+                clause.checkNegations(query);
+            }
+        }
+    }
+}
@@ -0,0 +1,634 @@
+package com.webscraper.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, compressed list of ascending, distinct document ids.
+ * <p>
+ * Ids are stored in blocks of {@value #BLOCK_SIZE}. A block is encoded either as varint deltas
+ * between consecutive ids, which suits sparse ids, or as a bitmap spanning its first to last
+ * id, which suits dense runs; each block takes whichever encoding is smaller, so a bitmap
+ * costs at most about one byte per id and a run of consecutive ids one bit per id, plus 13
+ * bytes of skip table per block. The skip table holds the first id and byte offset of every
+ * block, so a {@link Cursor} can {@link Cursor#advance(long) advance} to an id by searching
+ * the table and decoding a single block, without reading the blocks in between.
+ * <p>
+ * {@link #intersect(List)} leapfrogs cursors from the shortest list, so its cost grows with
+ * the shortest list rather than the longest; {@link #union(List)} merges cursors through a
+ * heap. Ids must be non-negative and below {@link #NO_MORE}.
+ * <p>
+ * Every block but the last holds exactly {@value #BLOCK_SIZE} ids; the last, partial one is
+ * the tail, encoded in its own small array. {@link #append(PostingsList)} re-encodes only the
+ * tail and seals full blocks into arrays it shares with the list it extends, which it may
+ * write past the end of without disturbing that list's readers. Only the first list appended
+ * to a given list claims that space; any other copies it, so every list stays immutable.
+ * Appended lists keep up to as much spare capacity again as their encoded size.
+ */
+public final class PostingsList {
+
+    /**
+     * Ids per block.
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    /**
+     * Returned by cursors once every id has been read.
+     */
+    public static final long NO_MORE = Long.MAX_VALUE;
+
+    private static final byte DELTAS = 0;
+    private static final byte BITMAP = 1;
+
+    public static final PostingsList EMPTY = new PostingsList(0, 0, new byte[0], new long[0], new int[]{0},
+            new byte[0], new AtomicInteger(-1), new byte[0], -1, DELTAS, -1);
+
+    private final int size;
+    private final int blocks;
+    private final byte[] data;
+    private final long[] firstIds;
+    private final int[] offsets;
+    private final byte[] encodings;
+    private final AtomicInteger extent;
+    private final byte[] tail;
+    private final long tailFirst;
+    private final byte tailEncoding;
+    private final long last;
+
+    /**
+     * @param blocks  number of full blocks; the arrays may have room for more
+     * @param extent  full blocks the shared arrays hold, or -1 once an append has claimed them
+     * @param tail    encoded ids after the full blocks, fewer than {@value #BLOCK_SIZE}
+     */
+    private PostingsList(int size, int blocks, byte[] data, long[] firstIds, int[] offsets, byte[] encodings,
+                         AtomicInteger extent, byte[] tail, long tailFirst, byte tailEncoding, long last) {
+        this.size = size;
+        this.blocks = blocks;
+        this.data = data;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.encodings = encodings;
+        this.extent = extent;
+        this.tail = tail;
+        this.tailFirst = tailFirst;
+        this.tailEncoding = tailEncoding;
+        this.last = last;
+    }
+
+    /**
+     * Compress ascending, distinct ids.
+     *
+     * @param ids the ids to store
+     * @return the compressed list
+     * @throws IllegalArgumentException if the ids are not ascending and distinct, or out of range
+     */
+    public static PostingsList of(long... ids) {
+        Builder builder = new Builder();
+        for (long id : ids) {
+            builder.add(id);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return number of ids
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return true if the list holds the id
+     */
+    public boolean contains(long id) {
+        return id >= 0 && id < NO_MORE && cursor().advance(id) == id;
+    }
+
+    /**
+     * @return a cursor positioned before the first id
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Decode every id.
+     *
+     * @return the ids, ascending
+     */
+    public long[] toArray() {
+        return toArray(size);
+    }
+
+    /**
+     * Decode the lowest ids.
+     *
+     * @param limit maximum number of ids
+     * @return up to {@code limit} ids, ascending
+     */
+    public long[] toArray(int limit) {
+        long[] ids = new long[Math.max(0, Math.min(limit, size))];
+        Cursor cursor = cursor();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cursor.next();
+        }
+        return ids;
+    }
+
+    /**
+     * @return approximate heap footprint of the encoded ids and skip table
+     */
+    public long sizeInBytes() {
+        return 80L + data.length + 8L * firstIds.length + 4L * offsets.length + encodings.length + tail.length;
+    }
+
+    /**
+     * @return the ids present in both lists
+     */
+    public PostingsList and(PostingsList other) {
+        return intersect(List.of(this, other));
+    }
+
+    /**
+     * @return the ids present in either list
+     */
+    public PostingsList or(PostingsList other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        return union(List.of(this, other));
+    }
+
+    /**
+     * Add the ids of a later list. When they all follow this list's ids, as the ids of newly
+     * indexed documents do, only this list's tail is re-encoded and new blocks are sealed into
+     * the storage it shares with its successors; otherwise the lists are merged as by
+     * {@link #or(PostingsList)}.
+     *
+     * @param later the ids to add
+     * @return the ids present in either list
+     */
+    public PostingsList append(PostingsList later) {
+        if (later.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return later;
+        }
+        Cursor cursor = later.cursor();
+        if (cursor.next() <= last) {
+            return or(later);
+        }
+
+        Builder builder = new Builder(this);
+        for (long id = cursor.current(); id != NO_MORE; id = cursor.next()) {
+            builder.add(id);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Keep the ids not present in another list, advancing its cursor to each id of this one.
+     *
+     * @return the ids present in this list but not in {@code other}
+     */
+    public PostingsList andNot(PostingsList other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+
+        Cursor excluded = other.cursor();
+        Cursor cursor = cursor();
+        Builder builder = new Builder();
+        for (long id = cursor.next(); id != NO_MORE; id = cursor.next()) {
+            if (excluded.advance(id) != id) {
+                builder.add(id);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Intersect lists by advancing every other list's cursor to each candidate of the shortest.
+     *
+     * @param lists the lists to intersect
+     * @return the ids present in every list; empty if {@code lists} is empty
+     */
+    public static PostingsList intersect(List<PostingsList> lists) {
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        PostingsList[] sorted = lists.toArray(new PostingsList[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(PostingsList::size));
+        if (sorted[0].isEmpty()) {
+            return EMPTY;
+        }
+        if (sorted.length == 1) {
+            return sorted[0];
+        }
+
+        Cursor lead = sorted[0].cursor();
+        Cursor[] others = new Cursor[sorted.length - 1];
+        for (int i = 1; i < sorted.length; i++) {
+            others[i - 1] = sorted[i].cursor();
+        }
+
+        Builder builder = new Builder();
+        long candidate = lead.next();
+        while (candidate != NO_MORE) {
+            long next = candidate;
+            for (Cursor other : others) {
+                next = other.advance(candidate);
+                if (next != candidate) {
+                    break;
+                }
+            }
+            if (next == candidate) {
+                builder.add(candidate);
+                candidate = lead.next();
+            } else if (next == NO_MORE) {
+                break;
+            } else {
+                candidate = lead.advance(next);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Merge lists.
+     *
+     * @param lists the lists to merge
+     * @return the ids present in any list
+     */
+    public static PostingsList union(List<PostingsList> lists) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, lists.size()),
+                Comparator.comparingLong(Cursor::current));
+        for (PostingsList list : lists) {
+            Cursor cursor = list.cursor();
+            if (cursor.next() != NO_MORE) {
+                heap.add(cursor);
+            }
+        }
+
+        Builder builder = new Builder();
+        long last = -1;
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            if (cursor.current() != last) {
+                last = cursor.current();
+                builder.add(last);
+            }
+            if (cursor.next() != NO_MORE) {
+                heap.add(cursor);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Forward-only reader over the ids. Only the current block is decoded.
+     */
+    public final class Cursor {
+
+        private final long[] ids = new long[BLOCK_SIZE];
+        private final int blockCount = size > blocks * BLOCK_SIZE ? blocks + 1 : blocks;
+        private int block = -1;
+        private int count;
+        private int index = -1;
+        private long current = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * @return the id last returned, -1 before the first call, {@link #NO_MORE} at the end
+         */
+        public long current() {
+            return current;
+        }
+
+        /**
+         * Move to the next id.
+         *
+         * @return the next id, or {@link #NO_MORE}
+         */
+        public long next() {
+            if (current == NO_MORE) {
+                return NO_MORE;
+            }
+            if (index + 1 < count) {
+                return current = ids[++index];
+            }
+            return current = load(block + 1) ? ids[index = 0] : NO_MORE;
+        }
+
+        /**
+         * Move to the first id at or after the current position that is at least {@code target}.
+         * Blocks that end before the target are skipped through the skip table without being
+         * decoded. Stays put if the current id already reaches the target.
+         *
+         * @param target the id to reach
+         * @return the id moved to, or {@link #NO_MORE}
+         */
+        public long advance(long target) {
+            if (current >= target) {
+                return current;
+            }
+            if (block < 0 || (block + 1 < blockCount && firstId(block + 1) <= target)) {
+                int next = lastBlockStartingAtOrBefore(target, Math.max(block, 0));
+                if (next != block) {
+                    load(next);
+                    index = -1;
+                }
+            }
+
+            int found = Arrays.binarySearch(ids, index + 1, count, target);
+            found = found >= 0 ? found : -found - 1;
+            if (found < count) {
+                return current = ids[index = found];
+            }
+            return current = load(block + 1) ? ids[index = 0] : NO_MORE;
+        }
+
+        /**
+         * Gallop through the skip table for the last block whose first id is at most the target,
+         * or {@code from} if even that block starts after it.
+         */
+        private int lastBlockStartingAtOrBefore(long target, int from) {
+            if (from >= blockCount || firstId(from) > target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            int high = from + 1;
+            while (high < blockCount && firstId(high) <= target) {
+                low = high;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, blockCount);
+            while (high - low > 1) {
+                int middle = (low + high) >>> 1;
+                if (firstId(middle) <= target) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private long firstId(int block) {
+            return block < blocks ? firstIds[block] : tailFirst;
+        }
+
+        /**
+         * Decode a block into the buffer.
+         *
+         * @return false if there is no such block
+         */
+        private boolean load(int next) {
+            if (next >= blockCount) {
+                block = blockCount;
+                count = 0;
+                return false;
+            }
+
+            block = next;
+            count = next < blocks
+                    ? decode(data, offsets[next], offsets[next + 1], firstIds[next], encodings[next], ids)
+                    : decode(tail, 0, tail.length, tailFirst, tailEncoding, ids);
+            return true;
+        }
+    }
+
+    /**
+     * Decode one block.
+     *
+     * @return the number of ids written to {@code into}
+     */
+    private static int decode(byte[] bytes, int position, int end, long first, byte encoding, long[] into) {
+        long id = first;
+        into[0] = id;
+        int count = 1;
+        if (encoding == BITMAP) {
+            for (int i = position; i < end; i++) {
+                int bits = bytes[i] & 0xFF;
+                long base = id + 8L * (i - position);
+                while (bits != 0) {
+                    int bit = Integer.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (bit != 0 || i != position) {
+                        into[count++] = base + bit;
+                    }
+                }
+            }
+        } else {
+            while (position < end) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                into[count++] = id;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pick the smaller encoding for a block: a bitmap spanning its ids or varint deltas.
+     */
+    private static byte chooseEncoding(long[] ids, int count) {
+        long span = ids[count - 1] - ids[0] + 1;
+        return span <= 8L * deltaBytes(ids, count) ? BITMAP : DELTAS;
+    }
+
+    private static int encodedLength(long[] ids, int count, byte encoding) {
+        return encoding == BITMAP ? (int) ((ids[count - 1] - ids[0] + 8) / 8) : deltaBytes(ids, count);
+    }
+
+    private static int deltaBytes(long[] ids, int count) {
+        int bytes = 0;
+        for (int i = 1; i < count; i++) {
+            bytes += varintLength(ids[i] - ids[i - 1]);
+        }
+        return bytes;
+    }
+
+    private static int varintLength(long value) {
+        return Math.max(1, (63 - Long.numberOfLeadingZeros(value)) / 7 + 1);
+    }
+
+    /**
+     * Encode a block, everything but its first id, into {@code into} from {@code at}.
+     *
+     * @return the position after the block
+     */
+    private static int encode(long[] ids, int count, byte encoding, byte[] into, int at) {
+        if (encoding == BITMAP) {
+            int length = encodedLength(ids, count, encoding);
+            Arrays.fill(into, at, at + length, (byte) 0);
+            for (int i = 0; i < count; i++) {
+                long bit = ids[i] - ids[0];
+                into[at + (int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+            }
+            return at + length;
+        }
+        for (int i = 1; i < count; i++) {
+            long delta = ids[i] - ids[i - 1];
+            while ((delta & ~0x7FL) != 0) {
+                into[at++] = (byte) (delta & 0x7F | 0x80);
+                delta >>>= 7;
+            }
+            into[at++] = (byte) delta;
+        }
+        return at;
+    }
+
+    /**
+     * Accumulates ascending ids and encodes them one block at a time.
+     */
+    public static final class Builder {
+
+        private final long[] pending = new long[BLOCK_SIZE];
+        private int pendingCount;
+        private int size;
+        private byte[] data;
+        private int dataLength;
+        private long[] firstIds;
+        private int[] offsets;
+        private byte[] encodings;
+        private int blocks;
+        private long last = -1;
+        private boolean appending;
+        private AtomicInteger extent;
+
+        public Builder() {
+            data = new byte[64];
+            firstIds = new long[4];
+            offsets = new int[5];
+            encodings = new byte[4];
+        }
+
+        /**
+         * Continue after the ids of an existing list: its full blocks are kept as they are and
+         * its tail is decoded to be extended. Writes past the end of the list's arrays if no
+         * other list has claimed them yet, otherwise into copies.
+         */
+        private Builder(PostingsList base) {
+            appending = true;
+            size = base.size;
+            last = base.last;
+            blocks = base.blocks;
+            dataLength = base.offsets[base.blocks];
+            if (base.extent.compareAndSet(base.blocks, -1)) {
+                extent = base.extent;
+                data = base.data;
+                firstIds = base.firstIds;
+                offsets = base.offsets;
+                encodings = base.encodings;
+            } else {
+                data = Arrays.copyOf(base.data, Math.max(64, 2 * dataLength));
+                firstIds = Arrays.copyOf(base.firstIds, Math.max(4, 2 * blocks));
+                offsets = Arrays.copyOf(base.offsets, Math.max(4, 2 * blocks) + 1);
+                encodings = Arrays.copyOf(base.encodings, Math.max(4, 2 * blocks));
+            }
+            if (size > blocks * BLOCK_SIZE) {
+                pendingCount = decode(base.tail, 0, base.tail.length, base.tailFirst, base.tailEncoding, pending);
+            }
+        }
+
+        /**
+         * Append an id.
+         *
+         * @param id the id, greater than every id added before
+         * @return this builder
+         * @throws IllegalArgumentException if the id is out of order or out of range
+         */
+        public Builder add(long id) {
+            if (id <= last || id >= NO_MORE) {
+                throw new IllegalArgumentException("Postings ids must be ascending, distinct and non-negative: " + id);
+            }
+            last = id;
+            pending[pendingCount++] = id;
+            size++;
+            if (pendingCount == BLOCK_SIZE) {
+                flush();
+            }
+            return this;
+        }
+
+        /**
+         * @return the compressed list of every id added
+         */
+        public PostingsList build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            byte[] tail = new byte[0];
+            byte tailEncoding = DELTAS;
+            if (pendingCount > 0) {
+                tailEncoding = chooseEncoding(pending, pendingCount);
+                tail = new byte[encodedLength(pending, pendingCount, tailEncoding)];
+                encode(pending, pendingCount, tailEncoding, tail, 0);
+            }
+            long tailFirst = pendingCount > 0 ? pending[0] : -1;
+
+            if (appending) {
+                // Keep the spare capacity for the next append
+                if (extent == null) {
+                    extent = new AtomicInteger(blocks);
+                } else {
+                    extent.set(blocks);
+                }
+                return new PostingsList(size, blocks, data, firstIds, offsets, encodings, extent,
+                        tail, tailFirst, tailEncoding, last);
+            }
+            return new PostingsList(size, blocks, Arrays.copyOf(data, dataLength), Arrays.copyOf(firstIds, blocks),
+                    Arrays.copyOf(offsets, blocks + 1), Arrays.copyOf(encodings, blocks), new AtomicInteger(blocks),
+                    tail, tailFirst, tailEncoding, last);
+        }
+
+        private void flush() {
+            byte encoding = chooseEncoding(pending, pendingCount);
+            int blockBytes = encodedLength(pending, pendingCount, encoding);
+
+            if (blocks == firstIds.length || dataLength + blockBytes > data.length) {
+                // Grown arrays are private again; a claimed extent stays claimed
+                extent = null;
+                if (blocks == firstIds.length) {
+                    int capacity = Math.max(4, blocks * 2);
+                    firstIds = Arrays.copyOf(firstIds, capacity);
+                    encodings = Arrays.copyOf(encodings, capacity);
+                    offsets = Arrays.copyOf(offsets, capacity + 1);
+                }
+                if (dataLength + blockBytes > data.length) {
+                    data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + blockBytes));
+                }
+            }
+
+            firstIds[blocks] = pending[0];
+            encodings[blocks] = encoding;
+            dataLength = encode(pending, pendingCount, encoding, data, dataLength);
+            offsets[++blocks] = dataLength;
+            pendingCount = 0;
+        }
+    }
+}
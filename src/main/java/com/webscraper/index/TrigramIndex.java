@@ -0,0 +1,295 @@
+package com.webscraper.index;
+
+import com.webscraper.entity.ScrapedData;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the keyword and content of scraped data, used to answer
+ * case-insensitive infix queries without a {@code LIKE '%x%'} table scan.
+ * <p>
+ * Every lower-cased text is split into overlapping three-character grams, and each gram keeps
+ * a sorted list of the ids of the rows containing it. A query of three or more characters
+ * intersects the lists of its own grams, smallest first, which yields a small superset of the
+ * matching rows; callers load those rows by id and confirm the match. Shorter queries have no
+ * gram to look up, so {@link #canAnswer(String)} reports them as unanswerable.
+ * <p>
+ * Postings hold ids as {@code int}s, which halves their footprint; a row id beyond that range
+ * disables the index. Each text's grams are sorted and de-duplicated before they are added,
+ * so a gram repeated within one row costs a single map lookup.
+ * <p>
+ * The index only answers queries once {@link #markComplete()} has been called after every
+ * stored row was added; until then callers should keep scanning the database. Adds take a
+ * write lock, lookups a read lock.
+ */
+@Component
+public class TrigramIndex {
+
+    /**
+     * Minimum query length the index can answer.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    /**
+     * The indexed column of {@link ScrapedData}.
+     */
+    public enum Field {
+        KEYWORD,
+        CONTENT
+    }
+
+    private final GramTable keywordGrams = new GramTable();
+    private final GramTable contentGrams = new GramTable();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean complete;
+    private volatile boolean overflowed;
+
+    /**
+     * Index the keyword and content of saved rows. Rows without an id are skipped; adding a
+     * row twice has no effect.
+     *
+     * @param rows the rows to index
+     */
+    public void addAll(Collection<ScrapedData> rows) {
+        lock.writeLock().lock();
+        try {
+            for (ScrapedData row : rows) {
+                if (row.getId() == null) {
+                    continue;
+                }
+                if (row.getId() > Integer.MAX_VALUE) {
+                    overflowed = true;
+                    continue;
+                }
+                addText(keywordGrams, row.getId().intValue(), row.getKeyword());
+                addText(contentGrams, row.getId().intValue(), row.getContent());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record that every stored row has been added, so queries can be answered from the index.
+     */
+    public void markComplete() {
+        complete = true;
+    }
+
+    /**
+     * @return true if {@link #candidates(Field, String)} covers every stored row for the query
+     */
+    public boolean canAnswer(String query) {
+        return complete && !overflowed && query != null && query.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Find the rows whose field may contain the query, ignoring case. Every matching row is
+     * included; rows that contain all of the query's grams but not the query itself must be
+     * filtered out by the caller.
+     *
+     * @param field the column to search
+     * @param query the infix to look for, at least {@link #GRAM_LENGTH} characters
+     * @return candidate row ids in ascending order
+     */
+    public long[] candidates(Field field, String query) {
+        String normalized = query.toLowerCase();
+        GramTable grams = field == Field.KEYWORD ? keywordGrams : contentGrams;
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+                Postings postings = grams.get(gram(normalized, i));
+                if (postings == null) {
+                    return new long[0];
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+
+            int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int size = result.length;
+            for (int i = 1; i < lists.size() && size > 0; i++) {
+                size = lists.get(i).retainAll(result, size);
+            }
+            long[] ids = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = result[i];
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of distinct grams across both fields
+     */
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return keywordGrams.size() + contentGrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addText(GramTable grams, int id, String text) {
+        if (text == null || text.length() < GRAM_LENGTH) {
+            return;
+        }
+
+        String normalized = text.toLowerCase();
+        long[] keys = new long[normalized.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = gram(normalized, i);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                grams.getOrCreate(keys[i]).add(id);
+            }
+        }
+    }
+
+    /**
+     * Pack three characters into one key.
+     */
+    private static long gram(String text, int from) {
+        return (long) text.charAt(from) << 32 | (long) text.charAt(from + 1) << 16 | text.charAt(from + 2);
+    }
+
+    /**
+     * Open-addressing map from packed gram to postings, so lookups neither box keys nor
+     * allocate. Slots store {@code gram + 1}, leaving 0 free to mark an empty slot.
+     */
+    private static final class GramTable {
+
+        private long[] keys = new long[1024];
+        private Postings[] values = new Postings[1024];
+        private int size;
+
+        private Postings get(long gram) {
+            int mask = keys.length - 1;
+            for (int slot = hash(gram) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == gram + 1) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        private Postings getOrCreate(long gram) {
+            int mask = keys.length - 1;
+            int slot = hash(gram) & mask;
+            for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == gram + 1) {
+                    return values[slot];
+                }
+            }
+
+            Postings postings = new Postings();
+            keys[slot] = gram + 1;
+            values[slot] = postings;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return postings;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Postings[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = hash(oldKeys[i] - 1) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int hash(long gram) {
+            long h = gram * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free row ids. Rows are normally added in id order, so adding is an
+     * append; an out-of-order id is placed by binary search.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        private void insertAt(int index, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        /**
+         * Keep the ids of {@code candidates[0, count)} that are also in this list, galloping
+         * forward from the previous match so a short candidate list skips most of a long one.
+         *
+         * @return the number of ids kept, compacted to the front of {@code candidates}
+         */
+        private int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int id = candidates[i];
+                int step = 1;
+                int to = from;
+                while (to < size && ids[to] < id) {
+                    from = to + 1;
+                    to += step;
+                    step <<= 1;
+                }
+                int index = Arrays.binarySearch(ids, from, Math.min(to + 1, size), id);
+                if (index >= 0) {
+                    candidates[kept++] = id;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
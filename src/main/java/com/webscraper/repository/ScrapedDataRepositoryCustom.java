@@ -0,0 +1,34 @@
+package com.webscraper.repository;
+
+import com.webscraper.entity.ScrapedData;
+
+import java.util.List;
+
+/**
+ * Contains-style searches over scraped data, answered from the in-memory trigram index when
+ * possible instead of {@code LIKE '%keyword%'} scans.
+ */
+public interface ScrapedDataRepositoryCustom {
+
+    /**
+     * Find rows whose content contains the keyword, ignoring case.
+     */
+    List<ScrapedData> searchByKeyword(String keyword);
+
+    /**
+     * Find the first rows, in id order, whose content contains the keyword, ignoring case.
+     * Loading stops as soon as {@code limit} rows match.
+     */
+    List<ScrapedData> searchByKeyword(String keyword, int limit);
+
+    /**
+     * Find rows whose keyword contains the given text, ignoring case.
+     */
+    List<ScrapedData> findByKeywordContainingIgnoreCase(String keyword);
+
+    /**
+     * Find the first rows, in id order, whose keyword contains the given text, ignoring case.
+     * Loading stops as soon as {@code limit} rows match.
+     */
+    List<ScrapedData> findByKeywordContainingIgnoreCase(String keyword, int limit);
+}
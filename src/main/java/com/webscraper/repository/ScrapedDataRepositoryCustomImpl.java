@@ -0,0 +1,114 @@
+package com.webscraper.repository;
+
+import com.webscraper.entity.ScrapedData;
+import com.webscraper.index.TrigramIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Routes infix searches through the {@link TrigramIndex}: candidate ids come from the index,
+ * the rows are loaded by primary key in batches, and each is checked for the actual match.
+ * Limited searches start with a batch the size of the limit, double it while too few rows
+ * match, and stop loading once the limit is reached.
+ * Queries the index cannot answer, because they are shorter than a trigram or the index has
+ * not been fully built yet, fall back to the equivalent {@code LIKE} query.
+ */
+@RequiredArgsConstructor
+public class ScrapedDataRepositoryCustomImpl implements ScrapedDataRepositoryCustom {
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final TrigramIndex trigramIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ScrapedData> searchByKeyword(String keyword) {
+        return searchByKeyword(keyword, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<ScrapedData> searchByKeyword(String keyword, int limit) {
+        if (keyword == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (!trigramIndex.canAnswer(keyword)) {
+            return entityManager.createQuery(
+                            "SELECT sd FROM ScrapedData sd WHERE LOWER(sd.content) LIKE LOWER(CONCAT('%', :keyword, '%')) ESCAPE '\\' ORDER BY sd.id",
+                            ScrapedData.class)
+                    .setParameter("keyword", escapeLike(keyword))
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return loadMatching(trigramIndex.candidates(TrigramIndex.Field.CONTENT, keyword), keyword,
+                ScrapedData::getContent, limit);
+    }
+
+    @Override
+    public List<ScrapedData> findByKeywordContainingIgnoreCase(String keyword) {
+        return findByKeywordContainingIgnoreCase(keyword, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<ScrapedData> findByKeywordContainingIgnoreCase(String keyword, int limit) {
+        if (keyword == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (!trigramIndex.canAnswer(keyword)) {
+            return entityManager.createQuery(
+                            "SELECT sd FROM ScrapedData sd WHERE LOWER(sd.keyword) LIKE LOWER(CONCAT('%', :keyword, '%')) ESCAPE '\\' ORDER BY sd.id",
+                            ScrapedData.class)
+                    .setParameter("keyword", escapeLike(keyword))
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return loadMatching(trigramIndex.candidates(TrigramIndex.Field.KEYWORD, keyword), keyword,
+                ScrapedData::getKeyword, limit);
+    }
+
+    /**
+     * Escape {@code LIKE} wildcards so the keyword matches literally, as it does in the index.
+     */
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Load candidate rows by id, in id order, keeping those whose field really contains the
+     * keyword, until {@code limit} of them match.
+     */
+    private List<ScrapedData> loadMatching(long[] ids, String keyword, Function<ScrapedData, String> field,
+                                           int limit) {
+        List<ScrapedData> results = new ArrayList<>();
+        String normalized = keyword.toLowerCase();
+
+        int batchSize = Math.min(ID_BATCH_SIZE, limit);
+        for (int from = 0; from < ids.length && results.size() < limit;
+             from += batchSize, batchSize = Math.min(ID_BATCH_SIZE, batchSize * 2)) {
+            List<Long> batch = Arrays.stream(ids, from, Math.min(from + batchSize, ids.length))
+                    .boxed()
+                    .toList();
+            List<ScrapedData> rows = entityManager.createQuery(
+                            "SELECT sd FROM ScrapedData sd WHERE sd.id IN :ids ORDER BY sd.id", ScrapedData.class)
+                    .setParameter("ids", batch)
+                    .getResultList();
+            for (ScrapedData row : rows) {
+                if (results.size() == limit) {
+                    break;
+                }
+                String text = field.apply(row);
+                if (text != null && text.toLowerCase().contains(normalized)) {
+                    results.add(row);
+                }
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,60 @@
+package com.webscraper.service;
+
+import com.webscraper.entity.ScrapedData;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the words indexed in the Trie from scraped data: the keyword itself plus every
+ * word of the matched content longer than two characters.
+ */
+@Component
+public class KeywordTokenizer {
+
+    /**
+     * Runs of whitespace and punctuation that split text into words.
+     */
+    public static final Pattern SEPARATORS = Pattern.compile("[\\s\\p{Punct}]+");
+
+    /**
+     * Shortest word taken from text; shorter ones are skipped.
+     */
+    public static final int MIN_WORD_LENGTH = 3;
+
+    /**
+     * Tokenize a batch of saved scraped data, keeping each row's words apart so they can be
+     * indexed with the row's id. Rows without an id are skipped.
+     *
+     * @param scrapedDataList list of scraped data
+     * @return the words to index per row id, with repetitions, in batch order
+     */
+    public Map<Long, List<String>> tokenizeByRow(List<ScrapedData> scrapedDataList) {
+        Map<Long, List<String>> tokensByRow = new LinkedHashMap<>();
+        for (ScrapedData data : scrapedDataList) {
+            if (data.getId() != null) {
+                tokenize(data, tokensByRow.computeIfAbsent(data.getId(), id -> new ArrayList<>()));
+            }
+        }
+        return tokensByRow;
+    }
+
+    private static void tokenize(ScrapedData data, List<String> tokens) {
+        if (data.getKeyword() != null && !data.getKeyword().isEmpty()) {
+            tokens.add(data.getKeyword());
+        }
+
+        // Also index words from matched content
+        if (data.getMatchedContent() != null) {
+            for (String word : SEPARATORS.split(data.getMatchedContent().toLowerCase())) {
+                if (word.length() >= MIN_WORD_LENGTH) {
+                    tokens.add(word);
+                }
+            }
+        }
+    }
+}
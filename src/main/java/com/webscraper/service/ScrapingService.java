@@ -4,20 +4,33 @@ import com.webscraper.dto.*;
 import com.webscraper.entity.ScrapedData;
 import com.webscraper.entity.ScrapingJob;
 import com.webscraper.enums.JobStatus;
+import com.webscraper.enums.SearchMode;
+import com.webscraper.exception.IndexNotReadyException;
+import com.webscraper.exception.InvalidPatternException;
 import com.webscraper.exception.JobNotFoundException;
+import com.webscraper.index.Bm25Index;
+import com.webscraper.index.BooleanQuery;
 import com.webscraper.repository.ScrapedDataRepository;
 import com.webscraper.repository.ScrapingJobRepository;
+import com.webscraper.trie.SuffixTrie;
 import com.webscraper.trie.Trie;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,6 +46,9 @@ public class ScrapingService {
     private final ScrapedDataRepository dataRepository;
     private final WebScraperService webScraperService;
     private final Trie trie;
+    private final SuffixTrie suffixTrie;
+    private final Bm25Index bm25Index;
+    private final TrieRehydrationService rehydrationService;
 
     /**
      * Initialize a new scraping job.
@@ -113,8 +129,8 @@ public class ScrapingService {
             // Save all scraped data
             dataRepository.saveAll(allScrapedData);
 
-            // Index keywords in Trie
-            indexKeywordsInTrie(allScrapedData);
+            // Index keywords in Trie and the search indexes once the rows are committed
+            indexAfterCommit(allScrapedData);
 
             // Update job status
             job.setStatus(JobStatus.COMPLETED);
@@ -134,28 +150,22 @@ public class ScrapingService {
     }
 
     /**
-     * Index keywords from scraped data into the Trie.
+     * Index saved rows once the surrounding transaction commits, so searches never return rows
+     * that are rolled back. Without a transaction the rows are indexed immediately.
      *
-     * @param scrapedDataList list of scraped data
+     * @param scrapedDataList list of saved scraped data
      */
-    private void indexKeywordsInTrie(List<ScrapedData> scrapedDataList) {
-        for (ScrapedData data : scrapedDataList) {
-            if (data.getKeyword() != null && !data.getKeyword().isEmpty()) {
-                trie.insert(data.getKeyword());
-            }
-            
-            // Also index words from matched content
-            if (data.getMatchedContent() != null) {
-                String[] words = data.getMatchedContent().toLowerCase()
-                        .split("[\\s\\p{Punct}]+");
-                for (String word : words) {
-                    if (word.length() > 2) { // Only index words longer than 2 characters
-                        trie.insert(word);
-                    }
-                }
-            }
+    private void indexAfterCommit(List<ScrapedData> scrapedDataList) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rehydrationService.indexSaved(scrapedDataList);
+            return;
         }
-        log.info("Indexed keywords in Trie. Total words: {}", trie.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rehydrationService.indexSaved(scrapedDataList);
+            }
+        });
     }
 
     /**
@@ -196,38 +206,26 @@ public class ScrapingService {
      */
     @Transactional(readOnly = true)
     public SearchResponse search(SearchRequest request) {
-        // Find matching keywords using Trie
-        List<String> matchingKeywords = trie.findWordsWithPrefix(
-                request.getPrefix(), request.getLimit() * 2);
-
-        if (matchingKeywords.isEmpty()) {
-            return SearchResponse.builder()
-                    .status("success")
-                    .results(new ArrayList<>())
-                    .build();
+        if (rehydrationService.isRehydrating()) {
+            throw new IndexNotReadyException("Search index is still being rebuilt, please retry shortly");
+        }
+
+        List<ScrapedData> matches;
+        if (request.getMode() == SearchMode.CONTAINS) {
+            matches = findContaining(request);
+        } else {
+            matches = findAllInOrder(request.getMode() == SearchMode.BOOLEAN
+                    ? findMatchingIdsForQuery(request)
+                    : findMatchingIdsForKeywords(request));
         }
 
-        // Retrieve scraped data for matching keywords
         List<SearchResponse.SearchResult> results = new ArrayList<>();
-        
-        for (String keyword : matchingKeywords) {
-            List<ScrapedData> dataList = dataRepository.findByKeywordContainingIgnoreCase(keyword);
-            
-            for (ScrapedData data : dataList) {
-                if (results.size() >= request.getLimit()) {
-                    break;
-                }
-                
-                results.add(SearchResponse.SearchResult.builder()
-                        .url(data.getUrl())
-                        .matchedContent(data.getMatchedContent())
-                        .timestamp(data.getTimestamp())
-                        .build());
-            }
-            
-            if (results.size() >= request.getLimit()) {
-                break;
-            }
+        for (ScrapedData data : matches) {
+            results.add(SearchResponse.SearchResult.builder()
+                    .url(data.getUrl())
+                    .matchedContent(data.getMatchedContent())
+                    .timestamp(data.getTimestamp())
+                    .build());
         }
 
         log.info("Search completed for prefix: '{}' - Found {} results", 
@@ -239,6 +237,146 @@ public class ScrapingService {
                 .build();
     }
 
+    /**
+     * Retrieve rows by id in a single query, in the order of the ids.
+     *
+     * @param ids row ids, best first
+     * @return the rows that still exist
+     */
+    private List<ScrapedData> findAllInOrder(Set<Long> ids) {
+        List<ScrapedData> rows = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+
+        Map<Long, ScrapedData> dataById = new HashMap<>();
+        for (ScrapedData data : dataRepository.findAllById(ids)) {
+            dataById.put(data.getId(), data);
+        }
+        for (Long id : ids) {
+            ScrapedData data = dataById.get(id);
+            if (data != null) {
+                rows.add(data);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Find rows whose keyword contains the text, then rows whose page text contains it. Both
+     * lookups go through the trigram index, falling back to {@code LIKE} for short text, and
+     * load no more rows than the limit. The page text lookup asks for the full limit, since
+     * some of its rows may already be keyword matches.
+     *
+     * @param request the search request, with the text in {@code prefix}
+     * @return up to {@code limit} rows, keyword matches first, each in storage order
+     */
+    private List<ScrapedData> findContaining(SearchRequest request) {
+        int limit = request.getLimit();
+        Map<Long, ScrapedData> rows = new LinkedHashMap<>();
+        addUpToLimit(rows, dataRepository.findByKeywordContainingIgnoreCase(request.getPrefix(), limit), limit);
+        if (rows.size() < limit) {
+            addUpToLimit(rows, dataRepository.searchByKeyword(request.getPrefix(), limit), limit);
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private static void addUpToLimit(Map<Long, ScrapedData> rows, List<ScrapedData> matches, int limit) {
+        for (ScrapedData data : matches) {
+            if (rows.size() >= limit) {
+                return;
+            }
+            rows.putIfAbsent(data.getId(), data);
+        }
+    }
+
+    /**
+     * Rank scraped data by BM25 over its page text: a plain prefix expands through the content
+     * index itself, other modes score the keywords they match in the Trie. When fewer rows than
+     * the limit rank, the rest are filled from the keywords' postings, in keyword order, so rows
+     * whose page text matches none of the terms are still found.
+     *
+     * @param request the search request
+     * @return up to {@code limit} ids, ranked ones first
+     */
+    private Set<Long> findMatchingIdsForKeywords(SearchRequest request) {
+        List<String> matchingKeywords = null;
+        List<Long> ranked;
+        if (request.getMode() == SearchMode.PREFIX && !request.isFuzzy()) {
+            ranked = bm25Index.searchPrefix(request.getPrefix(), request.getLimit());
+        } else {
+            matchingKeywords = findMatchingKeywords(request, request.getLimit() * 2);
+            ranked = bm25Index.search(matchingKeywords, request.getLimit());
+        }
+        Set<Long> ids = new LinkedHashSet<>(ranked);
+        if (ids.size() >= request.getLimit()) {
+            return ids;
+        }
+
+        if (matchingKeywords == null) {
+            matchingKeywords = findMatchingKeywords(request, request.getLimit() * 2);
+        }
+        for (String keyword : matchingKeywords) {
+            // Read past ids that are already ranked
+            for (long id : trie.postings(keyword, request.getLimit() + ranked.size())) {
+                if (ids.size() >= request.getLimit()) {
+                    break;
+                }
+                ids.add(id);
+            }
+
+            if (ids.size() >= request.getLimit()) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Evaluate a boolean query over prefixes against the Trie's postings, without touching the
+     * database.
+     *
+     * @param request the search request, with the query in {@code prefix}
+     * @return up to {@code limit} matching ids, lowest first
+     */
+    private Set<Long> findMatchingIdsForQuery(SearchRequest request) {
+        BooleanQuery query;
+        try {
+            query = BooleanQuery.parse(request.getPrefix());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPatternException(e.getMessage());
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (long id : query.evaluate(trie::postingsWithPrefix).toArray(request.getLimit())) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Look up keywords in the Trie according to the request's search mode.
+     *
+     * @param request the search request
+     * @param limit   maximum number of keywords
+     * @return matching keywords
+     */
+    private List<String> findMatchingKeywords(SearchRequest request, int limit) {
+        if (request.getMode() == SearchMode.SUFFIX) {
+            return suffixTrie.findWordsWithSuffix(request.getPrefix(), limit);
+        }
+        if (request.getMode() == SearchMode.PATTERN) {
+            try {
+                return trie.findWordsMatching(request.getPrefix(), limit);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidPatternException(e.getMessage());
+            }
+        }
+        return request.isFuzzy()
+                ? trie.findWordsFuzzy(request.getPrefix(), request.getMaxEdits(), limit)
+                : trie.findWordsWithPrefix(request.getPrefix(), limit);
+    }
+
     /**
      * Format data size in human-readable format.
      *
@@ -0,0 +1,216 @@
+package com.webscraper.service;
+
+import com.webscraper.entity.ScrapedData;
+import com.webscraper.index.Bm25Index;
+import com.webscraper.index.TrigramIndex;
+import com.webscraper.repository.ScrapedDataRepository;
+import com.webscraper.trie.SuffixTrie;
+import com.webscraper.trie.Trie;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service that rebuilds the Trie, the {@link TrigramIndex} and the {@link Bm25Index} from stored
+ * scraped data after a restart.
+ * <p>
+ * Rows are read in keyset-paginated batches ({@code id > lastId}), so every page is an index
+ * range scan no matter how far the rebuild has progressed. Each batch is tokenized per row on a
+ * worker pool while the next one is fetched, and tokenized batches are added with
+ * {@link Trie#insertDocuments(Map)} and to the {@link SuffixTrie}. The trigram and BM25 indexes
+ * and the Trie's postings are not persisted, so rows are always read back for them: rows in
+ * {@link Trie#documents()}, whose words a restored snapshot already counts, only get their
+ * postings re-attached, while the others are counted. Searches are
+ * rejected until the rebuild succeeds, since serving a partial index would silently drop
+ * results; a failed rebuild is retried with an exponentially growing delay until one succeeds.
+ * <p>
+ * Scraping jobs index the rows they save through {@link #indexSaved(List)}, also while the
+ * rebuild runs. Every index skips rows it already holds, so a row the rebuild pages again is
+ * still counted exactly once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrieRehydrationService {
+
+    private static final int PROGRESS_INTERVAL_BATCHES = 10;
+
+    private final ScrapedDataRepository dataRepository;
+    private final KeywordTokenizer keywordTokenizer;
+    private final Trie trie;
+    private final SuffixTrie suffixTrie;
+    private final TrigramIndex trigramIndex;
+    private final Bm25Index bm25Index;
+
+    @Value("${trie.rehydration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trie.rehydration.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${trie.rehydration.threads:0}")
+    private int threads;
+
+    @Value("${trie.rehydration.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    @Value("${trie.rehydration.max-retry-delay-ms:600000}")
+    private long maxRetryDelayMs;
+
+    private volatile boolean rehydrating;
+
+    /**
+     * Hold back searches from the moment the bean exists until the rebuild has run.
+     */
+    @PostConstruct
+    public void markPending() {
+        rehydrating = enabled;
+    }
+
+    /**
+     * Start the rebuild once the application is up.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rehydrate();
+    }
+
+    /**
+     * Rebuild the Trie and the in-memory indexes from all stored scraped data. Rows the Trie
+     * already counts, for example after a snapshot was restored, only get their postings
+     * rebuilt. Failed attempts are retried until one succeeds or the thread is interrupted,
+     * and searches stay rejected until then.
+     */
+    public void rehydrate() {
+        if (!enabled) {
+            return;
+        }
+
+        long delay = retryDelayMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (attempt > 1) {
+                    Thread.sleep(delay);
+                    delay = Math.min(delay * 2, Math.max(maxRetryDelayMs, retryDelayMs));
+                }
+                int counted = trie.documents().size();
+                if (counted > 0) {
+                    log.info("Trie already counts {} words from {} rows, rebuilding only their postings",
+                            trie.size(), counted);
+                }
+                rebuild();
+
+                trigramIndex.markComplete();
+                rehydrating = false;
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Trie rehydration interrupted; searches stay unavailable");
+                return;
+            } catch (ExecutionException | RuntimeException e) {
+                log.error("Trie rehydration attempt {} failed, retrying in {} ms: {}",
+                        attempt, delay, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Index rows a scraping job has saved in the Trie, the suffix index, the trigram index and
+     * the BM25 index.
+     *
+     * @param rows saved rows, with ids assigned
+     */
+    public void indexSaved(List<ScrapedData> rows) {
+        index(rows);
+        log.info("Indexed keywords in Trie. Total words: {}", trie.size());
+    }
+
+    /**
+     * @return true while searches should wait for the rebuild to succeed
+     */
+    public boolean isRehydrating() {
+        return rehydrating;
+    }
+
+    private void rebuild() throws InterruptedException, ExecutionException {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        Deque<Future<Map<Long, List<String>>>> pending = new ArrayDeque<>();
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        int batches = 0;
+        Long lastId = 0L;
+
+        try {
+            while (true) {
+                List<ScrapedData> batch = dataRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                lastId = batch.get(batch.size() - 1).getId();
+                rows += batch.size();
+                trigramIndex.addAll(batch);
+                bm25Index.addAll(batch);
+                pending.add(pool.submit(() -> keywordTokenizer.tokenizeByRow(batch)));
+                if (pending.size() > workers) {
+                    index(pending.poll().get());
+                }
+
+                if (++batches % PROGRESS_INTERVAL_BATCHES == 0) {
+                    log.info("Trie rehydration progress: {} rows ({} rows/sec)", rows, rate(rows, start));
+                }
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                index(pending.poll().get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        log.info("Rehydrated Trie from {} rows in {} ms ({} rows/sec). Total words: {}",
+                rows, System.currentTimeMillis() - start, rate(rows, start), trie.size());
+    }
+
+    private void index(List<ScrapedData> rows) {
+        trigramIndex.addAll(rows);
+        bm25Index.addAll(rows);
+        index(keywordTokenizer.tokenizeByRow(rows));
+    }
+
+    /**
+     * Add tokenized rows to the Trie, and the words of the rows it had not counted yet to the
+     * suffix index.
+     */
+    private void index(Map<Long, List<String>> keywordsByRow) {
+        Set<Long> counted = trie.insertDocuments(keywordsByRow);
+        suffixTrie.insertAll(counted.stream().flatMap(id -> keywordsByRow.get(id).stream()).toList());
+    }
+
+    private static long rate(long rows, long start) {
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        return rows * 1000 / elapsed;
+    }
+}
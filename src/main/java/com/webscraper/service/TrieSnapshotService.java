@@ -0,0 +1,155 @@
+package com.webscraper.service;
+
+import com.webscraper.trie.SuffixTrie;
+import com.webscraper.trie.Trie;
+import com.webscraper.trie.TrieSnapshot;
+import com.webscraper.trie.TrieWriteAheadLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Service that persists the Trie to a binary snapshot so indexed vocabulary survives restarts.
+ * The snapshot is loaded before the application starts serving, rewritten periodically and
+ * written once more on shutdown.
+ * <p>
+ * With the write-ahead log enabled, every mutation between snapshots is also logged. On startup
+ * the log is replayed on top of the snapshot and compacted into a fresh one. The suffix index is
+ * not persisted; it is rebuilt from the restored words.
+ * <p>
+ * A snapshot that cannot be read, or that predates {@link Trie#documents()}, is discarded
+ * together with the log, leaving {@link TrieRehydrationService} to rebuild the Trie from the
+ * stored rows; replaying the log alone would count some rows without recording which.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrieSnapshotService {
+
+    private final Trie trie;
+    private final SuffixTrie suffixTrie;
+
+    @Value("${trie.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${trie.snapshot.path:data/trie.snapshot}")
+    private String snapshotPath;
+
+    @Value("${trie.wal.enabled:false}")
+    private boolean walEnabled;
+
+    @Value("${trie.wal.directory:data/wal}")
+    private String walDirectory;
+
+    @Value("${trie.wal.sync-interval-ms:200}")
+    private long walSyncIntervalMs;
+
+    private TrieWriteAheadLog writeAheadLog;
+
+    /**
+     * Restore the Trie from the last snapshot, if one exists, and replay the write-ahead log.
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Path.of(snapshotPath);
+        long logSequence = 0;
+        if (Files.exists(path)) {
+            long start = System.currentTimeMillis();
+            try {
+                logSequence = TrieSnapshot.restore(trie, path);
+                log.info("Restored Trie snapshot from {}: {} words in {} ms",
+                        path, trie.size(), System.currentTimeMillis() - start);
+            } catch (IOException e) {
+                log.error("Failed to restore Trie snapshot from {}: {}", path, e.getMessage());
+                trie.clear();
+                logSequence = Long.MAX_VALUE;
+            }
+            if (trie.documents() == null) {
+                log.warn("Trie snapshot {} does not record which rows it counts; rebuilding from stored data", path);
+                trie.clear();
+                logSequence = Long.MAX_VALUE;
+            }
+        }
+
+        if (walEnabled) {
+            openWriteAheadLog(logSequence);
+        }
+
+        if (trie.size() > 0) {
+            long start = System.currentTimeMillis();
+            suffixTrie.rebuildFrom(trie);
+            log.info("Rebuilt suffix index: {} words in {} ms", suffixTrie.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Write the current Trie contents to the snapshot file.
+     */
+    @Scheduled(fixedDelayString = "${trie.snapshot.interval-ms:300000}",
+            initialDelayString = "${trie.snapshot.interval-ms:300000}")
+    public synchronized void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Path.of(snapshotPath);
+        long start = System.currentTimeMillis();
+        try {
+            if (writeAheadLog != null) {
+                TrieSnapshot.write(trie, path, writeAheadLog);
+            } else {
+                TrieSnapshot.write(trie, path);
+            }
+            log.debug("Wrote Trie snapshot to {}: {} words in {} ms",
+                    path, trie.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.error("Failed to write Trie snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Write a final snapshot when the application shuts down.
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        writeSnapshot();
+        if (writeAheadLog != null) {
+            try {
+                writeAheadLog.close();
+            } catch (IOException e) {
+                log.error("Failed to close Trie write-ahead log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void openWriteAheadLog(long logSequence) {
+        Path directory = Path.of(walDirectory);
+        long start = System.currentTimeMillis();
+        try {
+            long replayed = TrieWriteAheadLog.replay(directory, logSequence, trie);
+            writeAheadLog = TrieWriteAheadLog.open(directory, walSyncIntervalMs);
+            trie.setMutationListener(writeAheadLog);
+
+            if (replayed > 0) {
+                log.info("Replayed {} Trie mutations from {} in {} ms",
+                        replayed, directory, System.currentTimeMillis() - start);
+                // Compact the replayed segments into a fresh snapshot
+                writeSnapshot();
+            }
+        } catch (IOException e) {
+            log.error("Failed to open Trie write-ahead log in {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.webscraper.trie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal acyclic word graph (DAWG) built from a sorted vocabulary.
+ * <p>
+ * Unlike {@link Trie}, which only shares prefixes, the DAWG also merges identical suffix
+ * subtrees, so endings such as "-ing", "-tion" or plural forms are stored once no matter
+ * how many stems use them. Construction follows Daciuk's incremental algorithm: words are
+ * added in ascending order and each finished branch is replaced by an equivalent node from
+ * the register when one exists.
+ * <p>
+ * Instances are read-only and safe to share between threads.
+ */
+public final class Dawg implements PrefixLookup {
+
+    private final DawgNode root;
+    private final int size;
+    private final int nodeCount;
+
+    private Dawg(DawgNode root, int size, int nodeCount) {
+        this.root = root;
+        this.size = size;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * Build a minimal word graph from the current snapshot of a Trie.
+     *
+     * @param trie the trie to compile
+     * @return a DAWG containing the same words
+     */
+    public static Dawg compile(Trie trie) {
+        return build(trie.words());
+    }
+
+    /**
+     * Build a minimal word graph from normalized words in ascending order without duplicates.
+     *
+     * @param sortedWords the vocabulary, sorted by {@link String#compareTo(String)}
+     * @return the minimal word graph
+     */
+    public static Dawg build(List<String> sortedWords) {
+        Builder builder = new Builder();
+        for (String word : sortedWords) {
+            builder.add(word);
+        }
+        return builder.finish(sortedWords.size());
+    }
+
+    @Override
+    public boolean search(String word) {
+        DawgNode node = walk(normalize(word));
+        return node != null && node.terminal;
+    }
+
+    @Override
+    public boolean startsWith(String prefix) {
+        return walk(normalize(prefix)) != null;
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix) {
+        return findWordsWithPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+        String normalizedPrefix = normalize(prefix);
+        DawgNode node = walk(normalizedPrefix);
+
+        if (node != null) {
+            collectAllWords(node, new StringBuilder(normalizedPrefix), results, limit);
+        }
+        return results;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Count the distinct nodes below the root.
+     *
+     * @return number of nodes, excluding the root
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private DawgNode walk(String key) {
+        if (key.isEmpty()) {
+            return null;
+        }
+
+        DawgNode current = root;
+        for (int i = 0; i < key.length() && current != null; i++) {
+            current = current.getChild(key.charAt(i));
+        }
+        return current;
+    }
+
+    private void collectAllWords(DawgNode node, StringBuilder path, List<String> results, int limit) {
+        if (results.size() >= limit) {
+            return;
+        }
+        if (node.terminal) {
+            results.add(path.toString());
+        }
+
+        for (int i = 0; i < node.labels.length; i++) {
+            path.append(node.labels[i]);
+            collectAllWords(node.targets[i], path, results, limit);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    private static String normalize(String word) {
+        return word == null ? "" : word.toLowerCase().trim();
+    }
+
+    /**
+     * Incremental minimization over sorted input. The path of the previous word is kept
+     * "unchecked" until the next word diverges from it; everything below the divergence point
+     * can no longer change and is merged with the register.
+     */
+    private static final class Builder {
+
+        private final DawgNode root = new DawgNode();
+        private final Map<DawgNode, DawgNode> register = new HashMap<>();
+        private final List<DawgNode> uncheckedPath = new ArrayList<>();
+        private String previousWord = "";
+
+        private void add(String word) {
+            int common = 0;
+            int max = Math.min(word.length(), previousWord.length());
+            while (common < max && word.charAt(common) == previousWord.charAt(common)) {
+                common++;
+            }
+
+            minimize(common);
+
+            DawgNode node = uncheckedPath.isEmpty() ? root : uncheckedPath.get(uncheckedPath.size() - 1);
+            for (int i = common; i < word.length(); i++) {
+                DawgNode next = new DawgNode();
+                node.append(word.charAt(i), next);
+                uncheckedPath.add(next);
+                node = next;
+            }
+            node.terminal = true;
+            previousWord = word;
+        }
+
+        /**
+         * Replace unchecked nodes deeper than {@code depth} with registered equivalents.
+         */
+        private void minimize(int depth) {
+            for (int i = uncheckedPath.size() - 1; i >= depth; i--) {
+                DawgNode child = uncheckedPath.remove(i);
+                DawgNode parent = i == 0 ? root : uncheckedPath.get(i - 1);
+                DawgNode registered = register.putIfAbsent(child, child);
+                if (registered != null) {
+                    parent.targets[parent.targets.length - 1] = registered;
+                }
+            }
+        }
+
+        private Dawg finish(int size) {
+            minimize(0);
+            return new Dawg(root, size, register.size());
+        }
+    }
+
+    /**
+     * Graph node. Equality compares the terminal flag, the edge labels and the identity of
+     * the targets, which is exact once all targets have themselves been minimized.
+     */
+    private static final class DawgNode {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final DawgNode[] NO_TARGETS = new DawgNode[0];
+
+        private boolean terminal;
+        private char[] labels = NO_LABELS;
+        private DawgNode[] targets = NO_TARGETS;
+
+        private DawgNode getChild(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? targets[index] : null;
+        }
+
+        private void append(char label, DawgNode target) {
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            targets = Arrays.copyOf(targets, targets.length + 1);
+            labels[labels.length - 1] = label;
+            targets[targets.length - 1] = target;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof DawgNode node)
+                    || terminal != node.terminal
+                    || !Arrays.equals(labels, node.labels)) {
+                return false;
+            }
+            for (int i = 0; i < targets.length; i++) {
+                if (targets[i] != node.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Boolean.hashCode(terminal);
+            for (int i = 0; i < labels.length; i++) {
+                hash = 31 * hash + labels[i];
+                hash = 31 * hash + System.identityHashCode(targets[i]);
+            }
+            return hash;
+        }
+    }
+}
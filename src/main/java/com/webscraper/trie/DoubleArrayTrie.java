@@ -0,0 +1,334 @@
+package com.webscraper.trie;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Immutable double-array trie compiled from a sorted vocabulary.
+ * <p>
+ * States are indices into two parallel int arrays: a transition from state {@code s} on
+ * character code {@code c} leads to {@code t = base[s] + c} and is valid only when
+ * {@code check[t] == s}. Lookups are therefore a handful of array reads with no object
+ * dereferences per character. Characters are mapped to dense codes {@code 1..alphabetSize}
+ * in ascending order, so enumeration returns words sorted.
+ * <p>
+ * Instances are read-only and safe to share between threads.
+ */
+public final class DoubleArrayTrie implements PrefixLookup {
+
+    private static final int ROOT = 0;
+    private static final int FREE = -1;
+
+    private final int[] base;
+    private final int[] check;
+    private final BitSet terminal;
+    private final char[] alphabet;
+    private final int[] codes;
+    private final int size;
+
+    private DoubleArrayTrie(int[] base, int[] check, BitSet terminal, char[] alphabet, int[] codes, int size) {
+        this.base = base;
+        this.check = check;
+        this.terminal = terminal;
+        this.alphabet = alphabet;
+        this.codes = codes;
+        this.size = size;
+    }
+
+    /**
+     * Compile the current snapshot of a Trie.
+     *
+     * @param trie the trie to compile
+     * @return a double-array trie containing the same words
+     */
+    public static DoubleArrayTrie compile(Trie trie) {
+        return build(trie.words());
+    }
+
+    /**
+     * Build a double-array trie from normalized words in ascending order without duplicates.
+     *
+     * @param sortedWords the vocabulary, sorted by {@link String#compareTo(String)}
+     * @return the compiled trie
+     */
+    public static DoubleArrayTrie build(List<String> sortedWords) {
+        return new Builder(sortedWords).build();
+    }
+
+    @Override
+    public boolean search(String word) {
+        int state = walk(normalize(word));
+        return state > ROOT && terminal.get(state);
+    }
+
+    @Override
+    public boolean startsWith(String prefix) {
+        return walk(normalize(prefix)) > ROOT;
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix) {
+        return findWordsWithPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+        String normalizedPrefix = normalize(prefix);
+        int state = walk(normalizedPrefix);
+
+        if (state > ROOT) {
+            collectAllWords(state, new StringBuilder(normalizedPrefix), results, limit);
+        }
+        return results;
+    }
+
+    /**
+     * @return every word in ascending order
+     */
+    List<String> words() {
+        List<String> results = new ArrayList<>(size);
+        collectAllWords(ROOT, new StringBuilder(), results, Integer.MAX_VALUE);
+        return results;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of slots in the BASE/CHECK arrays
+     */
+    public int capacity() {
+        return check.length;
+    }
+
+    /**
+     * Follow the transitions for a normalized key.
+     *
+     * @return the reached state, or -1 if the key is empty or not a path in the trie
+     */
+    private int walk(String key) {
+        if (key.isEmpty()) {
+            return -1;
+        }
+
+        int state = ROOT;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            int code = c < codes.length ? codes[c] : 0;
+            if (code == 0) {
+                return -1;
+            }
+            int next = base[state] + code;
+            if (next >= check.length || check[next] != state) {
+                return -1;
+            }
+            state = next;
+        }
+        return state;
+    }
+
+    private void collectAllWords(int state, StringBuilder path, List<String> results, int limit) {
+        if (results.size() >= limit) {
+            return;
+        }
+        if (terminal.get(state)) {
+            results.add(path.toString());
+        }
+
+        for (int code = 1; code <= alphabet.length; code++) {
+            int next = base[state] + code;
+            if (next < check.length && check[next] == state && next != state) {
+                path.append(alphabet[code - 1]);
+                collectAllWords(next, path, results, limit);
+                path.setLength(path.length() - 1);
+            }
+        }
+    }
+
+    private static String normalize(String word) {
+        return word == null ? "" : word.toLowerCase().trim();
+    }
+
+    /**
+     * Assigns BASE values breadth-first, placing each sibling group at the first offset
+     * where all of its slots are free. Free slots are kept in a doubly linked list so the
+     * search skips occupied regions instead of probing them one by one. Single-child groups
+     * take the first free slot; wider groups start from a watermark that moves forward once
+     * the sparse holes behind it have failed too many placements.
+     */
+    private static final class Builder {
+
+        private static final int NONE = -1;
+        private static final int MAX_PROBES_BEFORE_SKIP = 64;
+
+        private final List<String> words;
+        private final char[] alphabet;
+        private final int[] codes;
+        private int[] base;
+        private int[] check;
+        private int[] nextFree;
+        private int[] prevFree;
+        private int freeHead = NONE;
+        private int freeTail = NONE;
+        private final BitSet terminal = new BitSet();
+        private int used;
+        private int groupStart;
+        private int probes;
+
+        private Builder(List<String> words) {
+            this.words = words;
+
+            BitSet seen = new BitSet();
+            for (String word : words) {
+                for (int i = 0; i < word.length(); i++) {
+                    seen.set(word.charAt(i));
+                }
+            }
+            this.alphabet = new char[seen.cardinality()];
+            this.codes = new int[Math.max(seen.length(), 1)];
+            int code = 0;
+            for (int c = seen.nextSetBit(0); c >= 0; c = seen.nextSetBit(c + 1)) {
+                alphabet[code] = (char) c;
+                codes[c] = ++code;
+            }
+
+            this.base = new int[0];
+            this.check = new int[0];
+            this.nextFree = new int[0];
+            this.prevFree = new int[0];
+            grow(Math.max(64, words.size() * 2));
+        }
+
+        private DoubleArrayTrie build() {
+            occupy(ROOT, ROOT);
+            Deque<int[]> pending = new ArrayDeque<>();
+            pending.add(new int[]{ROOT, 0, words.size(), 0});
+
+            while (!pending.isEmpty()) {
+                int[] range = pending.poll();
+                int state = range[0];
+                int lo = range[1];
+                int hi = range[2];
+                int depth = range[3];
+
+                if (lo < hi && words.get(lo).length() == depth) {
+                    terminal.set(state);
+                    lo++;
+                }
+                if (lo >= hi) {
+                    continue;
+                }
+
+                List<int[]> siblings = new ArrayList<>();
+                int start = lo;
+                while (start < hi) {
+                    char c = words.get(start).charAt(depth);
+                    int end = start + 1;
+                    while (end < hi && words.get(end).charAt(depth) == c) {
+                        end++;
+                    }
+                    siblings.add(new int[]{codes[c], start, end});
+                    start = end;
+                }
+
+                int offset = findBase(siblings);
+                base[state] = offset;
+                for (int[] sibling : siblings) {
+                    int child = offset + sibling[0];
+                    occupy(child, state);
+                    pending.add(new int[]{child, sibling[1], sibling[2], depth + 1});
+                }
+            }
+
+            int length = Math.max(used, 1);
+            return new DoubleArrayTrie(Arrays.copyOf(base, length), Arrays.copyOf(check, length),
+                    terminal, alphabet, codes, words.size());
+        }
+
+        private int findBase(List<int[]> siblings) {
+            int firstCode = siblings.get(0)[0];
+            int lastCode = siblings.get(siblings.size() - 1)[0];
+
+            int start = siblings.size() == 1 ? freeHead : firstFreeFrom(groupStart);
+            for (int slot = start; ; slot = nextFree[slot]) {
+                if (slot == NONE) {
+                    slot = check.length;
+                    grow(check.length * 2);
+                }
+                int offset = slot - firstCode;
+                if (offset < 1) {
+                    continue;
+                }
+                if (offset + lastCode >= check.length) {
+                    grow(Math.max(check.length * 2, offset + lastCode + 1));
+                }
+                boolean fits = true;
+                for (int[] sibling : siblings) {
+                    if (check[offset + sibling[0]] != FREE) {
+                        fits = false;
+                        break;
+                    }
+                }
+                if (fits) {
+                    return offset;
+                }
+                if (++probes > MAX_PROBES_BEFORE_SKIP) {
+                    groupStart = slot;
+                    probes = 0;
+                }
+            }
+        }
+
+        private int firstFreeFrom(int index) {
+            while (index < check.length && check[index] != FREE) {
+                index++;
+            }
+            return index < check.length ? index : NONE;
+        }
+
+        private void occupy(int slot, int parent) {
+            check[slot] = parent;
+            used = Math.max(used, slot + 1);
+
+            int previous = prevFree[slot];
+            int next = nextFree[slot];
+            if (previous == NONE) {
+                freeHead = next;
+            } else {
+                nextFree[previous] = next;
+            }
+            if (next == NONE) {
+                freeTail = previous;
+            } else {
+                prevFree[next] = previous;
+            }
+        }
+
+        private void grow(int capacity) {
+            int previous = check.length;
+            base = Arrays.copyOf(base, capacity);
+            check = Arrays.copyOf(check, capacity);
+            nextFree = Arrays.copyOf(nextFree, capacity);
+            prevFree = Arrays.copyOf(prevFree, capacity);
+            Arrays.fill(check, previous, capacity, FREE);
+
+            for (int slot = previous; slot < capacity; slot++) {
+                prevFree[slot] = freeTail;
+                nextFree[slot] = NONE;
+                if (freeTail == NONE) {
+                    freeHead = slot;
+                } else {
+                    nextFree[freeTail] = slot;
+                }
+                freeTail = slot;
+            }
+        }
+    }
+}
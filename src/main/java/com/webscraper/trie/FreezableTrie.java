@@ -0,0 +1,129 @@
+package com.webscraper.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-mostly prefix index that serves lookups from a frozen {@link DoubleArrayTrie}
+ * and buffers new words in a small mutable {@link Trie} delta.
+ * <p>
+ * {@link #freeze()} compiles the frozen words plus the delta into a new double array and
+ * starts an empty delta. Inserts arriving while a freeze compiles go to the new delta; the
+ * delta being compiled stays visible to readers until the new double array is published.
+ * Readers never lock.
+ */
+public class FreezableTrie implements PrefixIndex {
+
+    private final Object freezeLock = new Object();
+    private volatile State state = new State(DoubleArrayTrie.build(List.of()), null, new Trie());
+
+    @Override
+    public synchronized void insert(String word) {
+        State current = state;
+        if (word == null || current.frozen.search(word)
+                || (current.retiring != null && current.retiring.search(word))) {
+            return;
+        }
+        current.delta.insert(word);
+    }
+
+    @Override
+    public boolean search(String word) {
+        State current = state;
+        return current.frozen.search(word) || current.delta.search(word)
+                || (current.retiring != null && current.retiring.search(word));
+    }
+
+    @Override
+    public boolean startsWith(String prefix) {
+        State current = state;
+        return current.frozen.startsWith(prefix) || current.delta.startsWith(prefix)
+                || (current.retiring != null && current.retiring.startsWith(prefix));
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix) {
+        return findWordsWithPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix, int limit) {
+        State current = state;
+        List<String> results = current.frozen.findWordsWithPrefix(prefix, limit);
+        if (current.retiring != null) {
+            results = mergeSorted(results, current.retiring.findWordsInOrder(prefix, limit), limit);
+        }
+        return mergeSorted(results, current.delta.findWordsInOrder(prefix, limit), limit);
+    }
+
+    @Override
+    public int size() {
+        State current = state;
+        return current.frozen.size() + current.delta.size()
+                + (current.retiring != null ? current.retiring.size() : 0);
+    }
+
+    @Override
+    public synchronized void clear() {
+        synchronized (freezeLock) {
+            state = new State(DoubleArrayTrie.build(List.of()), null, new Trie());
+        }
+    }
+
+    /**
+     * Compile the frozen words and the current delta into a new double-array trie.
+     *
+     * @return the newly published frozen structure
+     */
+    public DoubleArrayTrie freeze() {
+        synchronized (freezeLock) {
+            State toCompile;
+            synchronized (this) {
+                toCompile = new State(state.frozen, state.delta, new Trie());
+                state = toCompile;
+            }
+
+            DoubleArrayTrie compiled = DoubleArrayTrie.build(
+                    mergeSorted(toCompile.frozen.words(), toCompile.retiring.words(), Integer.MAX_VALUE));
+
+            synchronized (this) {
+                state = new State(compiled, null, state.delta);
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * @return number of words waiting in the mutable delta
+     */
+    public int deltaSize() {
+        return state.delta.size();
+    }
+
+    private static List<String> mergeSorted(List<String> left, List<String> right, int limit) {
+        if (right.isEmpty()) {
+            return left.size() <= limit ? left : left.subList(0, limit);
+        }
+        if (left.isEmpty()) {
+            return right.size() <= limit ? right : right.subList(0, limit);
+        }
+
+        List<String> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            if (j >= right.size() || (i < left.size() && left.get(i).compareTo(right.get(j)) <= 0)) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Immutable view of the frozen words, the delta being compiled (if any) and the live delta.
+     */
+    private record State(DoubleArrayTrie frozen, Trie retiring, Trie delta) {
+    }
+}
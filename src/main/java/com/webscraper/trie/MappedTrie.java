@@ -0,0 +1,309 @@
+package com.webscraper.trie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only prefix index served directly from a memory-mapped file.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ *   int   magic      'MTRI'
+ *   int   version    1
+ *   int   words      number of words
+ *   int   root       offset of the root node
+ *   ...   nodes      in post-order, so every child precedes its parent
+ * </pre>
+ * A node is an int {@code childCount << 1 | terminal} followed by {@code childCount} fixed-width
+ * entries of a char key and an int child offset, sorted by key. Lookups binary-search those
+ * entries with absolute reads on the mapped buffer, so no objects are created per node and the
+ * Java heap stays flat however large the vocabulary is. The pages live in the OS page cache and
+ * are shared by every process that maps the same file. Files are limited to 2 GB, the largest
+ * single mapping.
+ * <p>
+ * Instances are read-only and safe to share between threads.
+ */
+public final class MappedTrie implements PrefixLookup {
+
+    static final int MAGIC = 0x4D545249;
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 6;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int root;
+
+    private MappedTrie(MappedByteBuffer buffer, int size, int root) {
+        this.buffer = buffer;
+        this.size = size;
+        this.root = root;
+    }
+
+    /**
+     * Write the current snapshot of a Trie in the mapped layout.
+     *
+     * @param trie the trie to export
+     * @param path destination file; replaced atomically
+     * @throws IOException if the file cannot be written or would exceed 2 GB
+     */
+    public static void write(Trie trie, Path path) throws IOException {
+        TrieNode snapshot = trie.root();
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            Encoder encoder = new Encoder(channel);
+            encoder.buffer.position(HEADER_BYTES);
+            int rootOffset = encoder.writeTree(snapshot);
+            encoder.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(snapshot.getWordCount()).putInt(rootOffset).flip();
+            channel.write(header, 0);
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Map a file written by {@link #write(Trie, Path)}.
+     *
+     * @param path the file to map
+     * @return a read-only index backed by the mapping
+     * @throws IOException if the file cannot be mapped or is not in the mapped layout
+     */
+    public static MappedTrie open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a mapped trie: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a mapped trie: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported mapped trie version " + version + ": " + path);
+        }
+        int root = buffer.getInt(12);
+        if (root < HEADER_BYTES || root > buffer.limit() - 4) {
+            throw new IOException("Corrupted mapped trie: " + path);
+        }
+        return new MappedTrie(buffer, buffer.getInt(8), root);
+    }
+
+    @Override
+    public boolean search(String word) {
+        int node = walk(normalize(word));
+        return node >= 0 && (buffer.getInt(node) & 1) != 0;
+    }
+
+    @Override
+    public boolean startsWith(String prefix) {
+        return walk(normalize(prefix)) >= 0;
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix) {
+        return findWordsWithPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+        String normalizedPrefix = normalize(prefix);
+        int node = walk(normalizedPrefix);
+
+        if (node >= 0 && limit > 0) {
+            collectWords(node, new StringBuilder(normalizedPrefix), results, limit);
+        }
+        return results;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Follow the edges for a normalized key.
+     *
+     * @return offset of the reached node, or -1 if the key is empty or not a path in the trie
+     */
+    private int walk(String key) {
+        if (key.isEmpty()) {
+            return -1;
+        }
+
+        int node = root;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Binary-search the fixed-width child entries of a node.
+     *
+     * @return offset of the child for {@code c}, or -1 if there is none
+     */
+    private int child(int node, char c) {
+        int entries = node + 4;
+        int lo = 0;
+        int hi = (buffer.getInt(node) >>> 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char key = buffer.getChar(entries + mid * ENTRY_BYTES);
+            if (key < c) {
+                lo = mid + 1;
+            } else if (key > c) {
+                hi = mid - 1;
+            } else {
+                return buffer.getInt(entries + mid * ENTRY_BYTES + 2);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collect words below a node in ascending order with an explicit stack of node offsets
+     * and entry positions.
+     */
+    private void collectWords(int start, StringBuilder path, List<String> results, int limit) {
+        if ((buffer.getInt(start) & 1) != 0) {
+            results.add(path.toString());
+        }
+
+        int[] nodes = new int[16];
+        int[] nextEntry = new int[16];
+        nodes[0] = start;
+        int depth = 1;
+
+        while (depth > 0 && results.size() < limit) {
+            int node = nodes[depth - 1];
+            int index = nextEntry[depth - 1];
+
+            if (index < buffer.getInt(node) >>> 1) {
+                nextEntry[depth - 1] = index + 1;
+                int entry = node + 4 + index * ENTRY_BYTES;
+                int child = buffer.getInt(entry + 2);
+                path.append(buffer.getChar(entry));
+                if ((buffer.getInt(child) & 1) != 0) {
+                    results.add(path.toString());
+                }
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    nextEntry = Arrays.copyOf(nextEntry, depth * 2);
+                }
+                nodes[depth] = child;
+                nextEntry[depth] = 0;
+                depth++;
+                continue;
+            }
+
+            depth--;
+            path.setLength(path.length() - (depth > 0 ? 1 : 0));
+        }
+    }
+
+    private static String normalize(String word) {
+        return word == null ? "" : word.toLowerCase().trim();
+    }
+
+    /**
+     * Writes nodes in post-order through a 1 MiB buffer, tracking the file offset of each
+     * record so parents can refer to children that are already written.
+     */
+    private static final class Encoder {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private long flushed;
+
+        private Encoder(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * @return the offset of the root record
+         */
+        private int writeTree(TrieNode root) throws IOException {
+            TrieNode[] nodes = new TrieNode[16];
+            int[] nextChild = new int[16];
+            int[][] childOffsets = new int[16][];
+            nodes[0] = root;
+            childOffsets[0] = new int[root.childCount()];
+            int depth = 1;
+
+            while (true) {
+                TrieNode node = nodes[depth - 1];
+                int index = nextChild[depth - 1];
+                if (index < node.childCount()) {
+                    nextChild[depth - 1] = index + 1;
+                    TrieNode child = node.childAt(index);
+                    if (depth == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, depth * 2);
+                        nextChild = Arrays.copyOf(nextChild, depth * 2);
+                        childOffsets = Arrays.copyOf(childOffsets, depth * 2);
+                    }
+                    nodes[depth] = child;
+                    nextChild[depth] = 0;
+                    childOffsets[depth] = new int[child.childCount()];
+                    depth++;
+                    continue;
+                }
+
+                int offset = writeNode(node, childOffsets[depth - 1]);
+                if (--depth == 0) {
+                    return offset;
+                }
+                childOffsets[depth - 1][nextChild[depth - 1] - 1] = offset;
+            }
+        }
+
+        private int writeNode(TrieNode node, int[] childOffsets) throws IOException {
+            int bytes = 4 + node.childCount() * ENTRY_BYTES;
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            long offset = flushed + buffer.position();
+            if (offset + bytes > Integer.MAX_VALUE) {
+                throw new IOException("Mapped trie would exceed 2 GB");
+            }
+
+            buffer.putInt(node.childCount() << 1 | (node.isEndOfWord() ? 1 : 0));
+            for (int i = 0; i < node.childCount(); i++) {
+                buffer.putChar(node.keyAt(i)).putInt(childOffsets[i]);
+            }
+            return (int) offset;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.webscraper.trie;
+
+/**
+ * Mutable API of the prefix-search structures in this package. Compiled, read-only
+ * structures implement {@link PrefixLookup} only.
+ * Implementations normalize words to lower case and trim them before indexing.
+ */
+public interface PrefixIndex extends PrefixLookup {
+
+    /**
+     * Insert a word into the index.
+     *
+     * @param word the word to insert
+     */
+    void insert(String word);
+
+    /**
+     * Clear all data from the index.
+     */
+    void clear();
+}
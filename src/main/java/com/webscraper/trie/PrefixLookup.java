@@ -0,0 +1,50 @@
+package com.webscraper.trie;
+
+import java.util.List;
+
+/**
+ * Read-only API of the prefix-search structures in this package.
+ * Implementations normalize words to lower case and trim them before looking them up.
+ */
+public interface PrefixLookup {
+
+    /**
+     * Search for exact word match.
+     *
+     * @param word the word to search
+     * @return true if word exists, false otherwise
+     */
+    boolean search(String word);
+
+    /**
+     * Check if any indexed word starts with the given prefix.
+     *
+     * @param prefix the prefix to search
+     * @return true if prefix exists, false otherwise
+     */
+    boolean startsWith(String prefix);
+
+    /**
+     * Find all words that start with the given prefix.
+     *
+     * @param prefix the prefix to search
+     * @return list of words matching the prefix
+     */
+    List<String> findWordsWithPrefix(String prefix);
+
+    /**
+     * Find words with prefix up to a specified limit.
+     *
+     * @param prefix the prefix to search
+     * @param limit  maximum number of results
+     * @return list of words matching the prefix (limited)
+     */
+    List<String> findWordsWithPrefix(String prefix, int limit);
+
+    /**
+     * Get the total number of words in the index.
+     *
+     * @return total word count
+     */
+    int size();
+}
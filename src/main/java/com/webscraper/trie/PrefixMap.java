@@ -0,0 +1,355 @@
+package com.webscraper.trie;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Trie that maps words to values, so per-word metadata (counts, timestamps, job ids, source
+ * URLs) can live next to the word instead of being looked up afterwards.
+ * <p>
+ * Keys are normalized like {@link Trie} words: lower-cased and trimmed, with null and blank
+ * keys ignored. Null values are not allowed, so a null result always means "absent".
+ * <p>
+ * Concurrency follows {@link Trie}: writers are serialized and copy the path from the root to
+ * the changed node before publishing a new root, while readers take the current root without
+ * locking and see a consistent snapshot. {@link #computeIfAbsent} and {@link #merge} run their
+ * function under the writer lock, so it must be short and must not modify this map.
+ * Entries are visited in alphabetical key order.
+ */
+public class PrefixMap<V> {
+
+    private volatile Node<V> root = new Node<>();
+
+    /**
+     * Get the value mapped to a key.
+     *
+     * @param key the key to look up
+     * @return the value, or null if the key is not mapped
+     */
+    public V get(String key) {
+        Node<V> node = find(root, normalize(key));
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * @return true if the key is mapped to a value
+     */
+    public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map a key to a value, replacing any previous value.
+     *
+     * @param key   the key to map
+     * @param value the value, not null
+     * @return the previous value, or null if there was none
+     */
+    public synchronized V put(String key, V value) {
+        Objects.requireNonNull(value, "value");
+        String normalizedKey = normalize(key);
+        if (normalizedKey.isEmpty()) {
+            return null;
+        }
+
+        V previous = get(normalizedKey);
+        update(normalizedKey, value);
+        return previous;
+    }
+
+    /**
+     * Return the value mapped to a key, computing and storing it first if the key is unmapped.
+     *
+     * @param key             the key to look up
+     * @param mappingFunction computes a value from the normalized key; a null result leaves the
+     *                        key unmapped
+     * @return the current or computed value, or null
+     */
+    public synchronized V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+        String normalizedKey = normalize(key);
+        if (normalizedKey.isEmpty()) {
+            return null;
+        }
+
+        V current = get(normalizedKey);
+        if (current != null) {
+            return current;
+        }
+        V computed = mappingFunction.apply(normalizedKey);
+        if (computed != null) {
+            update(normalizedKey, computed);
+        }
+        return computed;
+    }
+
+    /**
+     * Map an unmapped key to a value, or combine the current value with it. As with
+     * {@link Map#merge}, a null combination removes the key.
+     *
+     * @param key               the key to map
+     * @param value             the value to store or combine, not null
+     * @param remappingFunction combines the current value with {@code value}
+     * @return the new value, or null if the key was removed
+     */
+    public synchronized V merge(String key, V value,
+                                BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value, "value");
+        String normalizedKey = normalize(key);
+        if (normalizedKey.isEmpty()) {
+            return null;
+        }
+
+        V current = get(normalizedKey);
+        V merged = current == null ? value : remappingFunction.apply(current, value);
+        update(normalizedKey, merged);
+        return merged;
+    }
+
+    /**
+     * Remove a key's mapping.
+     *
+     * @param key the key to remove
+     * @return the removed value, or null if the key was not mapped
+     */
+    public synchronized V remove(String key) {
+        String normalizedKey = normalize(key);
+        V previous = get(normalizedKey);
+        if (previous != null) {
+            update(normalizedKey, null);
+        }
+        return previous;
+    }
+
+    /**
+     * Collect the entries whose keys start with a prefix, in alphabetical key order.
+     *
+     * @param prefix the prefix to search; empty matches every entry
+     * @param limit  maximum number of entries
+     * @return the matching entries (limited)
+     */
+    public List<Map.Entry<String, V>> entriesWithPrefix(String prefix, int limit) {
+        List<Map.Entry<String, V>> results = new ArrayList<>();
+        if (limit > 0) {
+            forEachWithPrefix(prefix, limit, (key, value) -> results.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+        }
+        return results;
+    }
+
+    /**
+     * Visit every entry whose key starts with a prefix, in alphabetical key order.
+     *
+     * @param prefix the prefix to search; empty matches every entry
+     * @param action receives each normalized key and its value
+     */
+    public void forEachWithPrefix(String prefix, BiConsumer<String, ? super V> action) {
+        forEachWithPrefix(prefix, Integer.MAX_VALUE, action);
+    }
+
+    /**
+     * @return number of entries whose keys start with the prefix; empty counts every entry
+     */
+    public int countWithPrefix(String prefix) {
+        Node<V> node = find(root, normalize(prefix));
+        return node != null ? node.size : 0;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size() {
+        return root.size;
+    }
+
+    /**
+     * Remove every entry.
+     */
+    public synchronized void clear() {
+        root = new Node<>();
+    }
+
+    private void forEachWithPrefix(String prefix, int limit, BiConsumer<String, ? super V> action) {
+        String normalizedPrefix = normalize(prefix);
+        Node<V> start = find(root, normalizedPrefix);
+        if (start == null) {
+            return;
+        }
+
+        List<Node<V>> nodes = new ArrayList<>();
+        int[] nextChild = new int[16];
+        StringBuilder path = new StringBuilder(normalizedPrefix);
+        nodes.add(start);
+        int visited = 0;
+        if (start.value != null) {
+            action.accept(normalizedPrefix, start.value);
+            visited++;
+        }
+
+        while (!nodes.isEmpty() && visited < limit) {
+            int depth = nodes.size() - 1;
+            Node<V> node = nodes.get(depth);
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                nodes.remove(depth);
+                if (depth > 0) {
+                    path.setLength(path.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            Node<V> child = node.children[index];
+            path.append(node.keys[index]);
+            if (child.value != null) {
+                action.accept(path.toString(), child.value);
+                visited++;
+            }
+            if (nodes.size() == nextChild.length) {
+                nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
+            }
+            nextChild[nodes.size()] = 0;
+            nodes.add(child);
+        }
+    }
+
+    /**
+     * Publish a new root in which {@code key} maps to {@code value}, or is unmapped when
+     * {@code value} is null. Copies the nodes along the key's path, drops nodes left without
+     * a value or children, and fixes up subtree sizes on the way back. Caller holds the lock.
+     */
+    private void update(String key, V value) {
+        Node<V>[] path = Node.newArray(key.length() + 1);
+        path[0] = root.copy();
+        for (int i = 0; i < key.length(); i++) {
+            Node<V> child = path[i].getChild(key.charAt(i));
+            if (child == null) {
+                if (value == null) {
+                    return;
+                }
+                child = new Node<>();
+            } else {
+                child = child.copy();
+            }
+            path[i + 1] = child;
+        }
+
+        Node<V> target = path[key.length()];
+        int delta = (value != null ? 1 : 0) - (target.value != null ? 1 : 0);
+        target.value = value;
+
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].size += delta;
+            if (i > 0) {
+                Node<V> parent = path[i - 1];
+                if (path[i].size == 0) {
+                    parent.removeChild(key.charAt(i - 1));
+                } else {
+                    parent.setChild(key.charAt(i - 1), path[i]);
+                }
+            }
+        }
+        root = path[0];
+    }
+
+    private static <V> Node<V> find(Node<V> root, String key) {
+        Node<V> current = root;
+        for (int i = 0; i < key.length() && current != null; i++) {
+            current = current.getChild(key.charAt(i));
+        }
+        return current;
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "" : key.toLowerCase().trim();
+    }
+
+    /**
+     * Map node with children in sorted parallel arrays. A published node is never modified;
+     * writers change copies.
+     */
+    private static final class Node<V> {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+
+        private char[] keys = NO_KEYS;
+        @SuppressWarnings("unchecked")
+        private Node<V>[] children = (Node<V>[]) NO_CHILDREN;
+        private int childCount;
+        private V value;
+        private int size;
+
+        /**
+         * Allocate a typed child or path array; arrays of a generic type cannot be created
+         * directly.
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newArray(int length) {
+            return (Node<V>[]) new Node<?>[length];
+        }
+
+        private Node<V> getChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void setChild(char c, Node<V> child) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index >= 0) {
+                children = children.clone();
+                children[index] = child;
+                return;
+            }
+
+            int insertAt = -index - 1;
+            char[] newKeys = new char[childCount + 1];
+            Node<V>[] newChildren = newArray(childCount + 1);
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, childCount - insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            childCount++;
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index < 0) {
+                return;
+            }
+
+            char[] newKeys = new char[childCount - 1];
+            Node<V>[] newChildren = newArray(childCount - 1);
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, childCount - index - 1);
+            keys = newKeys;
+            children = newChildren;
+            childCount--;
+        }
+
+        /**
+         * Shallow copy sharing the child arrays, which {@link #setChild} and
+         * {@link #removeChild} replace rather than modify.
+         */
+        private Node<V> copy() {
+            Node<V> copy = new Node<>();
+            copy.keys = keys;
+            copy.children = children;
+            copy.childCount = childCount;
+            copy.value = value;
+            copy.size = size;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.webscraper.trie;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazy, splittable traversal of the words below one node of a {@link Trie} snapshot.
+ * <p>
+ * A spliterator covers a sibling range: the word of a parent node (optionally) followed by
+ * the subtrees of its children {@code [from, to)}. Words are produced in ascending order by
+ * an explicit-stack depth-first walk, so memory stays proportional to the word length no
+ * matter how many words are visited. Before traversal starts, {@link #trySplit()} hands the
+ * parent's word and the first half of the children to a new spliterator, descending through
+ * single-child chains until there is a child boundary to split at. Nodes of a published
+ * snapshot are never mutated, so the traversal is {@link #IMMUTABLE} without locking.
+ */
+final class PrefixSpliterator implements Spliterator<String> {
+
+    private static final int CHARACTERISTICS = ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+
+    private TrieNode parent;
+    private String path;
+    private boolean includeSelf;
+    private int from;
+    private int to;
+    private long estimate;
+
+    private boolean started;
+    private TrieNode[] nodes;
+    private int[] nextChild;
+    private int depth;
+    private StringBuilder buffer;
+
+    /**
+     * @param node the node reached by {@code path}
+     * @param path the normalized prefix spelling {@code node}
+     */
+    PrefixSpliterator(TrieNode node, String path) {
+        this(node, path, true, 0, node.childCount());
+    }
+
+    private PrefixSpliterator(TrieNode parent, String path, boolean includeSelf, int from, int to) {
+        this.parent = parent;
+        this.path = path;
+        this.includeSelf = includeSelf;
+        this.from = from;
+        this.to = to;
+        this.estimate = countWords();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if (!started) {
+            start();
+            if (includeSelf && parent.isEndOfWord()) {
+                emit(action);
+                return true;
+            }
+        }
+
+        while (depth > 0) {
+            TrieNode node = nodes[depth - 1];
+            int index = nextChild[depth - 1];
+            int end = depth == 1 ? to : node.childCount();
+
+            if (index < end) {
+                nextChild[depth - 1] = index + 1;
+                TrieNode child = node.childAt(index);
+                buffer.append(node.keyAt(index));
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    nextChild = Arrays.copyOf(nextChild, depth * 2);
+                }
+                nodes[depth] = child;
+                nextChild[depth] = 0;
+                depth++;
+                if (child.isEndOfWord()) {
+                    emit(action);
+                    return true;
+                }
+                continue;
+            }
+
+            depth--;
+            if (depth > 0) {
+                buffer.setLength(buffer.length() - 1);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (started) {
+            return null;
+        }
+
+        // Walk down single-child chains until there is a child boundary to split at
+        if (to - from == 1 && !(includeSelf && parent.isEndOfWord())) {
+            StringBuilder descended = new StringBuilder(path);
+            while (to - from == 1 && !(includeSelf && parent.isEndOfWord())) {
+                descended.append(parent.keyAt(from));
+                parent = parent.childAt(from);
+                includeSelf = true;
+                from = 0;
+                to = parent.childCount();
+            }
+            path = descended.toString();
+        }
+
+        int mid;
+        if (to - from >= 2) {
+            mid = (from + to) >>> 1;
+        } else if (to - from == 1) {
+            mid = from;
+        } else {
+            return null;
+        }
+
+        PrefixSpliterator prefix = new PrefixSpliterator(parent, path, includeSelf, from, mid);
+        includeSelf = false;
+        from = mid;
+        estimate = countWords();
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super String> getComparator() {
+        return null;
+    }
+
+    private long countWords() {
+        long count = includeSelf && parent.isEndOfWord() ? 1 : 0;
+        for (int i = from; i < to; i++) {
+            count += parent.childAt(i).getWordCount();
+        }
+        return count;
+    }
+
+    private void start() {
+        started = true;
+        buffer = new StringBuilder(path);
+        nodes = new TrieNode[16];
+        nextChild = new int[16];
+        nodes[0] = parent;
+        nextChild[0] = from;
+        depth = 1;
+    }
+
+    private void emit(Consumer<? super String> action) {
+        if (estimate > 0) {
+            estimate--;
+        }
+        action.accept(buffer.toString());
+    }
+}
@@ -0,0 +1,257 @@
+package com.webscraper.trie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Path-compressed radix tree (Patricia trie) with the same API as {@link Trie}.
+ * <p>
+ * Edges carry substrings instead of single characters, so a run of single-child nodes
+ * collapses into one node and lookups follow one pointer per branching point rather than
+ * one per character. Inserting a word that diverges in the middle of an edge splits that
+ * edge in two. Thread-safe implementation using synchronized methods.
+ */
+public class RadixTrie implements PrefixIndex {
+
+    private RadixNode root;
+    private int size;
+
+    public RadixTrie() {
+        this.root = new RadixNode("");
+    }
+
+    @Override
+    public synchronized void insert(String word) {
+        if (word == null) {
+            return;
+        }
+
+        String normalizedWord = word.toLowerCase().trim();
+        if (normalizedWord.isEmpty()) {
+            return;
+        }
+
+        RadixNode current = root;
+        int position = 0;
+
+        while (position < normalizedWord.length()) {
+            RadixNode child = current.getChild(normalizedWord.charAt(position));
+            if (child == null) {
+                RadixNode leaf = new RadixNode(normalizedWord.substring(position));
+                leaf.endOfWord = true;
+                current.addChild(leaf);
+                size++;
+                return;
+            }
+
+            int common = commonPrefixLength(child.label, normalizedWord, position);
+            if (common < child.label.length()) {
+                RadixNode split = new RadixNode(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.addChild(child);
+                current.addChild(split);
+                child = split;
+            }
+
+            current = child;
+            position += common;
+        }
+
+        if (!current.endOfWord) {
+            current.endOfWord = true;
+            size++;
+        }
+    }
+
+    @Override
+    public synchronized boolean search(String word) {
+        if (word == null) {
+            return false;
+        }
+        String normalizedWord = word.toLowerCase().trim();
+        if (normalizedWord.isEmpty()) {
+            return false;
+        }
+
+        RadixNode current = root;
+        int position = 0;
+
+        while (position < normalizedWord.length()) {
+            current = current.getChild(normalizedWord.charAt(position));
+            if (current == null || !normalizedWord.startsWith(current.label, position)) {
+                return false;
+            }
+            position += current.label.length();
+        }
+
+        return current.endOfWord;
+    }
+
+    @Override
+    public synchronized boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+        String normalizedPrefix = prefix.toLowerCase().trim();
+        return !normalizedPrefix.isEmpty() && locate(normalizedPrefix) != null;
+    }
+
+    @Override
+    public synchronized List<String> findWordsWithPrefix(String prefix) {
+        return findWordsWithPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized List<String> findWordsWithPrefix(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+
+        if (prefix == null || prefix.isEmpty()) {
+            return results;
+        }
+
+        String normalizedPrefix = prefix.toLowerCase().trim();
+        if (normalizedPrefix.isEmpty()) {
+            return results;
+        }
+
+        PrefixMatch match = locate(normalizedPrefix);
+        if (match == null) {
+            return results;
+        }
+
+        collectAllWords(match.node, new StringBuilder(match.path), results, limit);
+        return results;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        root = new RadixNode("");
+        size = 0;
+    }
+
+    /**
+     * Count the nodes below the root.
+     *
+     * @return number of nodes, excluding the root
+     */
+    public synchronized int nodeCount() {
+        return countNodes(root) - 1;
+    }
+
+    /**
+     * Find the node whose path from the root starts with the given prefix.
+     * The prefix may end in the middle of the node's edge label.
+     */
+    private PrefixMatch locate(String prefix) {
+        RadixNode current = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            current = current.getChild(prefix.charAt(position));
+            if (current == null) {
+                return null;
+            }
+            int overlap = Math.min(current.label.length(), prefix.length() - position);
+            if (!current.label.regionMatches(0, prefix, position, overlap)) {
+                return null;
+            }
+            position += overlap;
+            if (overlap < current.label.length()) {
+                return new PrefixMatch(current, prefix.substring(0, position - overlap) + current.label);
+            }
+        }
+
+        return new PrefixMatch(current, prefix);
+    }
+
+    private void collectAllWords(RadixNode node, StringBuilder path, List<String> results, int limit) {
+        if (results.size() >= limit) {
+            return;
+        }
+        if (node.endOfWord) {
+            results.add(path.toString());
+        }
+
+        for (int i = 0; i < node.childCount; i++) {
+            RadixNode child = node.children[i];
+            int length = path.length();
+            path.append(child.label);
+            collectAllWords(child, path, results, limit);
+            path.setLength(length);
+        }
+    }
+
+    private int countNodes(RadixNode node) {
+        int count = 1;
+        for (int i = 0; i < node.childCount; i++) {
+            count += countNodes(node.children[i]);
+        }
+        return count;
+    }
+
+    private static int commonPrefixLength(String label, String word, int offset) {
+        int max = Math.min(label.length(), word.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == word.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record PrefixMatch(RadixNode node, String path) {
+    }
+
+    /**
+     * Radix tree node; children are kept sorted by the first character of their labels.
+     */
+    private static final class RadixNode {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final RadixNode[] NO_CHILDREN = new RadixNode[0];
+
+        private String label;
+        private boolean endOfWord;
+        private char[] firstChars = NO_KEYS;
+        private RadixNode[] children = NO_CHILDREN;
+        private int childCount;
+
+        private RadixNode(String label) {
+            this.label = label;
+        }
+
+        private RadixNode getChild(char c) {
+            int index = Arrays.binarySearch(firstChars, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * Add a child, replacing any existing child whose label starts with the same character.
+         */
+        private void addChild(RadixNode child) {
+            char c = child.label.charAt(0);
+            int index = Arrays.binarySearch(firstChars, 0, childCount, c);
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == firstChars.length) {
+                int capacity = Math.max(2, childCount * 2);
+                firstChars = Arrays.copyOf(firstChars, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(firstChars, insertAt, firstChars, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            firstChars[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.webscraper.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent Trie variant that partitions the root's children into independently locked shards.
+ * <p>
+ * Each shard is a {@link Trie} holding the words whose first character maps to it, so inserts
+ * for different leading characters are serialized on different monitors and never contend.
+ * With the default of 128 stripes every ASCII leading character gets a shard of its own.
+ */
+public class StripedTrie implements PrefixIndex {
+
+    public static final int DEFAULT_STRIPES = 128;
+
+    private final Trie[] shards;
+
+    public StripedTrie() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public StripedTrie(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        this.shards = new Trie[stripes];
+        for (int i = 0; i < stripes; i++) {
+            shards[i] = new Trie();
+        }
+    }
+
+    @Override
+    public void insert(String word) {
+        String normalizedWord = normalize(word);
+        if (!normalizedWord.isEmpty()) {
+            shardFor(normalizedWord).insert(normalizedWord);
+        }
+    }
+
+    @Override
+    public boolean search(String word) {
+        String normalizedWord = normalize(word);
+        return !normalizedWord.isEmpty() && shardFor(normalizedWord).search(normalizedWord);
+    }
+
+    @Override
+    public boolean startsWith(String prefix) {
+        String normalizedPrefix = normalize(prefix);
+        return !normalizedPrefix.isEmpty() && shardFor(normalizedPrefix).startsWith(normalizedPrefix);
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return shardFor(normalizedPrefix).findWordsWithPrefix(normalizedPrefix);
+    }
+
+    @Override
+    public List<String> findWordsWithPrefix(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return shardFor(normalizedPrefix).findWordsWithPrefix(normalizedPrefix, limit);
+    }
+
+    @Override
+    public int size() {
+        int total = 0;
+        for (Trie shard : shards) {
+            total += shard.size();
+        }
+        return total;
+    }
+
+    @Override
+    public void clear() {
+        for (Trie shard : shards) {
+            shard.clear();
+        }
+    }
+
+    private Trie shardFor(String normalizedWord) {
+        return shards[normalizedWord.charAt(0) % shards.length];
+    }
+
+    private static String normalize(String word) {
+        return word == null ? "" : word.toLowerCase().trim();
+    }
+}
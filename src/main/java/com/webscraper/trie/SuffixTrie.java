@@ -0,0 +1,123 @@
+package com.webscraper.trie;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Companion index for "ends with" queries, kept as a {@link Trie} of reversed words.
+ * <p>
+ * A suffix query reverses the suffix, looks it up as a prefix and reverses the results back,
+ * so it costs what a prefix query costs: O(suffix length + limit) from the rankings cached
+ * at the reached node, most frequent first. The index is filled in the same indexing pass as
+ * the main Trie, and rebuilt from the main Trie's words after a snapshot restore.
+ */
+@Component
+public class SuffixTrie {
+
+    private final Trie reversed = new Trie();
+
+    /**
+     * Add a batch of words, counting every occurrence.
+     *
+     * @param words the words to insert; null and blank entries are ignored
+     */
+    public void insertAll(Collection<String> words) {
+        if (words == null || words.isEmpty()) {
+            return;
+        }
+        reversed.insertAll(words.stream().filter(Objects::nonNull).map(SuffixTrie::reverse).toList());
+    }
+
+    /**
+     * Find words ending with the given suffix, most frequent first.
+     *
+     * @param suffix the suffix to search
+     * @param limit  maximum number of results
+     * @return list of words ending with the suffix (limited)
+     */
+    public List<String> findWordsWithSuffix(String suffix, int limit) {
+        if (suffix == null) {
+            return new ArrayList<>();
+        }
+
+        List<String> results = reversed.findWordsWithPrefix(reverse(suffix), limit);
+        results.replaceAll(SuffixTrie::reverse);
+        return results;
+    }
+
+    /**
+     * Replace the contents with the reversed words of another Trie, keeping their frequencies.
+     * Inserts made here while the rebuild runs are lost, so call it before indexing starts.
+     *
+     * @param source the trie whose current snapshot to index
+     */
+    public void rebuildFrom(Trie source) {
+        List<Entry> entries = new ArrayList<>(source.size());
+        TrieNode[] nodes = new TrieNode[16];
+        int[] nextChild = new int[16];
+        StringBuilder path = new StringBuilder();
+        nodes[0] = source.root();
+        int depth = 1;
+
+        while (depth > 0) {
+            TrieNode node = nodes[depth - 1];
+            int index = nextChild[depth - 1];
+            if (index == node.childCount()) {
+                depth--;
+                if (depth > 0) {
+                    path.setLength(path.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth - 1] = index + 1;
+            TrieNode child = node.childAt(index);
+            path.append(node.keyAt(index));
+            if (child.isEndOfWord()) {
+                entries.add(new Entry(reverse(path.toString()), child.getFrequency()));
+            }
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+            depth++;
+        }
+
+        entries.sort(Comparator.comparing(Entry::word));
+        String[] sorted = new String[entries.size()];
+        int[] counts = new int[entries.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = entries.get(i).word();
+            counts[i] = entries.get(i).frequency();
+        }
+
+        Trie rebuilt = new Trie();
+        rebuilt.insertCounted(sorted, counts, sorted.length);
+        reversed.replaceRoot(rebuilt.root());
+    }
+
+    /**
+     * @return number of distinct words indexed
+     */
+    public int size() {
+        return reversed.size();
+    }
+
+    private static String reverse(String word) {
+        return new StringBuilder(word).reverse().toString();
+    }
+
+    /**
+     * A reversed word and its frequency in the source Trie.
+     */
+    private record Entry(String word, int frequency) {
+    }
+}
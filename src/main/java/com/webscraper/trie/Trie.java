@@ -1,46 +1,497 @@
 package com.webscraper.trie;
 
+import com.webscraper.index.PostingsList;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Trie data structure implementation for efficient prefix-based search and autocompletion.
- * Thread-safe implementation using synchronized methods.
+ * <p>
+ * Thread-safe via copy-on-write snapshots: writers are serialized on the Trie's monitor,
+ * copy the nodes along the path they modify and then publish a new root through a
+ * volatile write. Readers never take a lock; they traverse whichever immutable root was
+ * published when they started, so lookups are not blocked by concurrent inserts.
  */
 @Component
-public class Trie {
+public class Trie implements PrefixIndex {
 
-    private final TrieNode root;
+    private volatile TrieNode root;
+    private volatile PostingsList documents = PostingsList.EMPTY;
+    private final Object documentLock = new Object();
+    private TrieMutationListener mutationListener;
 
     public Trie() {
         this.root = new TrieNode();
     }
 
     /**
-     * Insert a word into the Trie.
+     * Insert a word into the Trie, or count one more occurrence of it.
+     * The cached top completions of every node on the word's path are updated in the same
+     * copy-on-write pass, so rankings stay current while ingestion runs.
      *
      * @param word the word to insert
      */
+    @Override
     public synchronized void insert(String word) {
-        if (word == null || word.isEmpty()) {
+        if (word == null) {
             return;
         }
 
-        TrieNode current = root;
         String normalizedWord = word.toLowerCase().trim();
+        if (normalizedWord.isEmpty()) {
+            return;
+        }
 
-        for (char c : normalizedWord.toCharArray()) {
-            if (!current.hasChild(c)) {
-                current.addChild(c, new TrieNode());
-            }
-            current = current.getChild(c);
+        TrieNode newRoot = root.copy();
+        TrieNode[] path = new TrieNode[normalizedWord.length() + 1];
+        path[0] = newRoot;
+        TrieNode current = newRoot;
+
+        for (int i = 0; i < normalizedWord.length(); i++) {
+            char c = normalizedWord.charAt(i);
+            TrieNode child = current.getChild(c);
+            TrieNode next = child != null ? child.copy() : new TrieNode();
+            current.addChild(c, next);
+            current = next;
+            path[i + 1] = next;
         }
 
+        boolean newWord = !current.isEndOfWord();
         current.setEndOfWord(true);
-        current.setFullWord(normalizedWord);
+        current.setFrequency(current.getFrequency() + 1);
+
+        TrieNode.Completion completion = new TrieNode.Completion(normalizedWord, current.getFrequency());
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (newWord) {
+                path[i].setWordCount(path[i].getWordCount() + 1);
+            }
+            path[i].offerCompletion(completion);
+        }
+        root = newRoot;
+        if (mutationListener != null) {
+            mutationListener.onInsert(normalizedWord, 1);
+        }
+    }
+
+    /**
+     * Insert a batch of words, counting every occurrence as {@link #insert(String)} would.
+     * <p>
+     * The batch is normalized, sorted and run-length counted once. Words sharing a first
+     * character form a disjoint subtree, and those subtrees are built in parallel on the
+     * common ForkJoin pool without holding the Trie's monitor. Only merging them into the
+     * current root, and publishing the result, happens in one short critical section.
+     *
+     * @param words the words to insert; null and blank entries are ignored
+     */
+    public void insertAll(Collection<String> words) {
+        if (words == null || words.isEmpty()) {
+            return;
+        }
+
+        String[] sorted = words.stream()
+                .filter(Objects::nonNull)
+                .map(word -> word.toLowerCase().trim())
+                .filter(word -> !word.isEmpty())
+                .sorted()
+                .toArray(String[]::new);
+        if (sorted.length == 0) {
+            return;
+        }
+
+        int distinct = 0;
+        int[] counts = new int[sorted.length];
+        for (String word : sorted) {
+            if (distinct > 0 && sorted[distinct - 1].equals(word)) {
+                counts[distinct - 1]++;
+            } else {
+                sorted[distinct] = word;
+                counts[distinct++] = 1;
+            }
+        }
+        insertCounted(sorted, counts, distinct);
+    }
+
+    /**
+     * Insert normalized words with their occurrence counts, as {@link #insertAll(Collection)}
+     * does after sorting and counting its batch.
+     *
+     * @param sorted   normalized, non-empty words in ascending order, distinct in {@code [0, distinct)}
+     * @param counts   occurrences of each word
+     * @param distinct number of leading entries to insert
+     */
+    void insertCounted(String[] sorted, int[] counts, int distinct) {
+        insertCounted(sorted, counts, null, distinct, null);
+    }
+
+    /**
+     * Insert the words of a batch of documents, counting every occurrence as
+     * {@link #insertAll(Collection)} does, and add each document's id to the postings of the
+     * words it contains. Documents already in {@link #documents()} are not counted again; they
+     * only get their postings attached, so indexing a document twice, for example once by a job
+     * and once by a rebuild, or after a restored snapshot, keeps its frequencies exact.
+     *
+     * @param wordsByDocument words of each document, keyed by document id
+     * @return ids of the documents counted by this call
+     */
+    public Set<Long> insertDocuments(Map<Long, ? extends Collection<String>> wordsByDocument) {
+        if (wordsByDocument == null || wordsByDocument.isEmpty()) {
+            return Set.of();
+        }
+
+        Map<Long, Collection<String>> byId = new TreeMap<>();
+        wordsByDocument.forEach((id, words) -> {
+            if (id != null && words != null) {
+                byId.put(id, words);
+            }
+        });
+
+        synchronized (documentLock) {
+            Map<Long, Collection<String>> known = new HashMap<>();
+            Map<Long, Collection<String>> added = new TreeMap<>();
+            PostingsList.Cursor counted = documents == null ? null : documents.cursor();
+            for (Map.Entry<Long, Collection<String>> document : byId.entrySet()) {
+                long id = document.getKey();
+                boolean isKnown = counted != null && counted.advance(id) == id;
+                (isKnown ? known : added).put(id, document.getValue());
+            }
+            insertDocuments(known, false);
+            insertDocuments(added, true);
+            return added.keySet();
+        }
+    }
+
+    /**
+     * Add document ids to the postings of their words without counting the occurrences
+     * again, for words whose frequencies were already restored from a {@link TrieSnapshot}.
+     * Words the Trie does not hold are skipped.
+     *
+     * @param wordsByDocument words of each document, keyed by document id
+     */
+    public void attachPostings(Map<Long, ? extends Collection<String>> wordsByDocument) {
+        insertDocuments(wordsByDocument, false);
+    }
+
+    private void insertDocuments(Map<Long, ? extends Collection<String>> wordsByDocument, boolean countExisting) {
+        if (wordsByDocument == null || wordsByDocument.isEmpty()) {
+            return;
+        }
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Collection<String>> document : wordsByDocument.entrySet()) {
+            if (document.getKey() == null || document.getValue() == null) {
+                continue;
+            }
+            for (String word : document.getValue()) {
+                String normalizedWord = word == null ? "" : word.toLowerCase().trim();
+                if (!normalizedWord.isEmpty()) {
+                    occurrences.add(new Occurrence(normalizedWord, document.getKey()));
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparing(Occurrence::word).thenComparingLong(Occurrence::document));
+
+        String[] sorted = new String[occurrences.size()];
+        int[] counts = new int[occurrences.size()];
+        PostingsList[] postings = new PostingsList[occurrences.size()];
+        PostingsList.Builder wordDocuments = null;
+        long previousDocument = -1;
+        int distinct = 0;
+        for (Occurrence occurrence : occurrences) {
+            if (distinct == 0 || !sorted[distinct - 1].equals(occurrence.word())) {
+                if (distinct > 0) {
+                    postings[distinct - 1] = wordDocuments.build();
+                }
+                sorted[distinct] = occurrence.word();
+                distinct++;
+                wordDocuments = new PostingsList.Builder();
+                previousDocument = -1;
+            }
+            counts[distinct - 1]++;
+            if (occurrence.document() != previousDocument) {
+                wordDocuments.add(occurrence.document());
+                previousDocument = occurrence.document();
+            }
+        }
+        if (distinct > 0) {
+            postings[distinct - 1] = wordDocuments.build();
+        }
+
+        PostingsList countedDocuments = null;
+        if (countExisting) {
+            PostingsList.Builder ids = new PostingsList.Builder();
+            wordsByDocument.keySet().stream().sorted().forEach(ids::add);
+            countedDocuments = ids.build();
+        } else {
+            int kept = 0;
+            for (int i = 0; i < distinct; i++) {
+                if (frequency(sorted[i]) > 0) {
+                    sorted[kept] = sorted[i];
+                    counts[kept] = 0;
+                    postings[kept] = postings[i];
+                    kept++;
+                }
+            }
+            distinct = kept;
+        }
+        insertCounted(sorted, counts, postings, distinct, countedDocuments);
+    }
+
+    /**
+     * One occurrence of a normalized word in a document.
+     */
+    private record Occurrence(String word, long document) {
+    }
+
+    private void insertCounted(String[] sorted, int[] counts, PostingsList[] postings, int distinct,
+                               PostingsList countedDocuments) {
+        boolean countsDocuments = countedDocuments != null && !countedDocuments.isEmpty();
+        if (distinct == 0 && !countsDocuments) {
+            return;
+        }
+
+        List<int[]> groups = new ArrayList<>();
+        for (int start = 0; start < distinct; ) {
+            int end = start + 1;
+            while (end < distinct && sorted[end].charAt(0) == sorted[start].charAt(0)) {
+                end++;
+            }
+            groups.add(new int[]{start, end});
+            start = end;
+        }
+
+        List<TrieNode> subtrees = groups.parallelStream()
+                .map(group -> buildSubtree(sorted, counts, postings, group[0], group[1]))
+                .toList();
+
+        synchronized (this) {
+            if (distinct > 0) {
+                publishMerged(sorted, groups, subtrees);
+            }
+            if (countsDocuments && documents != null) {
+                documents = documents.append(countedDocuments);
+            }
+            if (mutationListener != null) {
+                for (int i = 0; i < distinct; i++) {
+                    if (counts[i] > 0) {
+                        mutationListener.onInsert(sorted[i], counts[i]);
+                    }
+                }
+                if (countsDocuments) {
+                    mutationListener.onDocumentsIndexed(countedDocuments);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge built subtrees into a copy of the root and publish it. Caller holds the lock.
+     */
+    private void publishMerged(String[] sorted, List<int[]> groups, List<TrieNode> subtrees) {
+        TrieNode newRoot = root.copy();
+        List<TrieNode> merged = IntStream.range(0, groups.size()).parallel()
+                .mapToObj(i -> {
+                    char first = sorted[groups.get(i)[0]].charAt(0);
+                    return mergeSubtree(newRoot.getChild(first), subtrees.get(i), first);
+                })
+                .toList();
+
+        int wordCount = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            newRoot.addChild(sorted[groups.get(i)[0]].charAt(0), merged.get(i));
+        }
+        for (int i = 0; i < newRoot.childCount(); i++) {
+            wordCount += newRoot.childAt(i).getWordCount();
+        }
+        newRoot.setWordCount(wordCount);
+        newRoot.recomputeCompletions(null);
+        root = newRoot;
+    }
+
+    /**
+     * Build a private subtree for sorted, distinct words sharing their first character.
+     * The returned node is the child for that character, with counts and rankings filled in.
+     */
+    private TrieNode buildSubtree(String[] words, int[] counts, PostingsList[] postings, int from, int to) {
+        TrieNode top = new TrieNode();
+        for (int i = from; i < to; i++) {
+            TrieNode current = top;
+            for (int j = 1; j < words[i].length(); j++) {
+                char c = words[i].charAt(j);
+                TrieNode child = current.getChild(c);
+                if (child == null) {
+                    child = new TrieNode();
+                    current.addChild(c, child);
+                }
+                current = child;
+            }
+            current.setEndOfWord(true);
+            current.setFrequency(counts[i]);
+            if (postings != null) {
+                current.setPostings(postings[i]);
+            }
+        }
+
+        TrieNode[] nodes = new TrieNode[16];
+        int[] nextChild = new int[16];
+        StringBuilder path = new StringBuilder().append(words[from].charAt(0));
+        nodes[0] = top;
+        int depth = 1;
+
+        while (depth > 0) {
+            TrieNode node = nodes[depth - 1];
+            int index = nextChild[depth - 1];
+
+            if (index < node.childCount()) {
+                nextChild[depth - 1] = index + 1;
+                path.append(node.keyAt(index));
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    nextChild = Arrays.copyOf(nextChild, depth * 2);
+                }
+                nodes[depth] = node.childAt(index);
+                nextChild[depth] = 0;
+                depth++;
+                continue;
+            }
+
+            finishNode(node, path);
+            path.setLength(path.length() - 1);
+            depth--;
+        }
+        return top;
+    }
+
+    /**
+     * Merge a freshly built subtree into the existing one for the same first character.
+     * Existing nodes touched by the batch are copied; untouched ones stay shared.
+     */
+    private TrieNode mergeSubtree(TrieNode existing, TrieNode fresh, char first) {
+        if (existing == null) {
+            return fresh;
+        }
+
+        TrieNode[] results = new TrieNode[16];
+        TrieNode[] incoming = new TrieNode[16];
+        int[] nextChild = new int[16];
+        StringBuilder path = new StringBuilder().append(first);
+        results[0] = existing.copy();
+        incoming[0] = fresh;
+        int depth = 1;
+
+        while (true) {
+            TrieNode result = results[depth - 1];
+            TrieNode batch = incoming[depth - 1];
+            int index = nextChild[depth - 1];
+
+            if (index < batch.childCount()) {
+                nextChild[depth - 1] = index + 1;
+                char c = batch.keyAt(index);
+                TrieNode current = result.getChild(c);
+                if (current == null) {
+                    result.addChild(c, batch.childAt(index));
+                    continue;
+                }
+                if (depth == results.length) {
+                    results = Arrays.copyOf(results, depth * 2);
+                    incoming = Arrays.copyOf(incoming, depth * 2);
+                    nextChild = Arrays.copyOf(nextChild, depth * 2);
+                }
+                path.append(c);
+                results[depth] = current.copy();
+                incoming[depth] = batch.childAt(index);
+                nextChild[depth] = 0;
+                depth++;
+                continue;
+            }
+
+            if (batch.isEndOfWord()) {
+                result.setEndOfWord(true);
+                result.setFrequency(result.getFrequency() + batch.getFrequency());
+                result.setPostings(result.postings().append(batch.postings()));
+            }
+            finishNode(result, path);
+
+            if (--depth == 0) {
+                return result;
+            }
+            results[depth - 1].addChild(path.charAt(path.length() - 1), result);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    /**
+     * Recompute a node's word count and ranking once all of its children are final.
+     *
+     * @param node the node to finish
+     * @param path the word spelled by the path to {@code node}
+     */
+    static void finishNode(TrieNode node, StringBuilder path) {
+        int wordCount = node.isEndOfWord() ? 1 : 0;
+        for (int i = 0; i < node.childCount(); i++) {
+            wordCount += node.childAt(i).getWordCount();
+        }
+        node.setWordCount(wordCount);
+        node.recomputeCompletions(node.isEndOfWord() ? path.toString() : null);
+    }
+
+    /**
+     * Remove a word from the Trie, pruning nodes that no longer lead to any word.
+     *
+     * @param word the word to remove
+     * @return true if the word was present
+     */
+    public synchronized boolean delete(String word) {
+        TrieNode existing = searchNode(root, word);
+        if (existing == null || !existing.isEndOfWord()) {
+            return false;
+        }
+
+        String normalizedWord = word.toLowerCase().trim();
+        TrieNode newRoot = root.copy();
+        TrieNode[] path = new TrieNode[normalizedWord.length() + 1];
+        path[0] = newRoot;
+
+        for (int i = 0; i < normalizedWord.length(); i++) {
+            TrieNode next = path[i].getChild(normalizedWord.charAt(i)).copy();
+            path[i].addChild(normalizedWord.charAt(i), next);
+            path[i + 1] = next;
+        }
+
+        TrieNode target = path[path.length - 1];
+        target.setEndOfWord(false);
+        target.setFrequency(0);
+        target.setPostings(PostingsList.EMPTY);
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            TrieNode node = path[i];
+            node.setWordCount(node.getWordCount() - 1);
+            if (i > 0 && node.getWordCount() == 0) {
+                path[i - 1].removeChild(normalizedWord.charAt(i - 1));
+            } else {
+                node.recomputeCompletions(node.isEndOfWord() ? normalizedWord.substring(0, i) : null);
+            }
+        }
+        root = newRoot;
+        if (mutationListener != null) {
+            mutationListener.onDelete(normalizedWord);
+        }
+        return true;
     }
 
     /**
@@ -49,8 +500,9 @@ public class Trie {
      * @param word the word to search
      * @return true if word exists, false otherwise
      */
-    public synchronized boolean search(String word) {
-        TrieNode node = searchNode(word);
+    @Override
+    public boolean search(String word) {
+        TrieNode node = searchNode(root, word);
         return node != null && node.isEndOfWord();
     }
 
@@ -60,8 +512,9 @@ public class Trie {
      * @param prefix the prefix to search
      * @return true if prefix exists, false otherwise
      */
-    public synchronized boolean startsWith(String prefix) {
-        return searchNode(prefix) != null;
+    @Override
+    public boolean startsWith(String prefix) {
+        return searchNode(root, prefix) != null;
     }
 
     /**
@@ -70,48 +523,497 @@ public class Trie {
      * @param prefix the prefix to search
      * @return list of words matching the prefix
      */
-    public synchronized List<String> findWordsWithPrefix(String prefix) {
+    @Override
+    public List<String> findWordsWithPrefix(String prefix) {
+        return findWordsWithPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find words with prefix up to a specified limit, most frequent first.
+     * <p>
+     * Up to {@link TrieNode#TOP_K} results come straight from the ranking cached at the
+     * prefix node, so the cost is O(prefix length + limit). Larger limits continue with the
+     * remaining words of the subtree in alphabetical order, stopping once {@code limit}
+     * words have been found.
+     *
+     * @param prefix the prefix to search
+     * @param limit  maximum number of results
+     * @return list of words matching the prefix (limited)
+     */
+    @Override
+    public List<String> findWordsWithPrefix(String prefix, int limit) {
         List<String> results = new ArrayList<>();
-        
-        if (prefix == null || prefix.isEmpty()) {
+
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
             return results;
         }
 
         String normalizedPrefix = prefix.toLowerCase().trim();
-        TrieNode node = searchNode(normalizedPrefix);
+        TrieNode node = searchNode(root, normalizedPrefix);
 
         if (node == null) {
             return results;
         }
 
-        collectAllWords(node, normalizedPrefix, results);
+        TrieNode.Completion[] ranked = node.topCompletions();
+        for (int i = 0; i < ranked.length && results.size() < limit; i++) {
+            results.add(ranked[i].word());
+        }
+
+        if (results.size() < limit && ranked.length == TrieNode.TOP_K) {
+            Set<String> alreadyRanked = new HashSet<>(results);
+            collectWords(node, new StringBuilder(normalizedPrefix), results, limit, alreadyRanked);
+        }
         return results;
     }
 
     /**
-     * Find words with prefix up to a specified limit.
+     * Find words with prefix in ascending alphabetical order, ignoring frequencies.
      *
      * @param prefix the prefix to search
      * @param limit  maximum number of results
      * @return list of words matching the prefix (limited)
      */
-    public synchronized List<String> findWordsWithPrefix(String prefix, int limit) {
-        List<String> allResults = findWordsWithPrefix(prefix);
-        return allResults.size() <= limit ? allResults : allResults.subList(0, limit);
+    List<String> findWordsInOrder(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+        if (prefix == null || limit <= 0) {
+            return results;
+        }
+
+        String normalizedPrefix = prefix.toLowerCase().trim();
+        TrieNode node = searchNode(root, normalizedPrefix);
+        if (node != null) {
+            collectWords(node, new StringBuilder(normalizedPrefix), results, limit, Set.of());
+        }
+        return results;
+    }
+
+    /**
+     * Find words that start with something within {@code maxEdits} edits of the query,
+     * tolerating typos such as "tehcn" for "techn".
+     * <p>
+     * The Trie is walked depth-first carrying one Levenshtein DP row per node: entry {@code j}
+     * is the edit distance between the node's path and the first {@code j} query characters.
+     * A subtree is pruned once the smallest entry exceeds {@code maxEdits}, or cannot beat the
+     * distance an ancestor already matched with. Nodes whose last entry is within the bound
+     * match the whole query; their words are ranked by that distance, then by frequency using
+     * the cached rankings, and continue alphabetically when those run out.
+     *
+     * @param query    the possibly misspelled prefix
+     * @param maxEdits the maximum number of insertions, deletions and substitutions
+     * @param limit    maximum number of results
+     * @return matching words, closest and most frequent first
+     */
+    public List<String> findWordsFuzzy(String query, int maxEdits, int limit) {
+        List<String> results = new ArrayList<>();
+        if (query == null || maxEdits < 0 || limit <= 0) {
+            return results;
+        }
+
+        String normalizedQuery = query.toLowerCase().trim();
+        if (normalizedQuery.isEmpty()) {
+            return results;
+        }
+
+        List<List<FuzzyMatch>> matchesByDistance = findFuzzyMatches(root, normalizedQuery, maxEdits);
+        Set<String> seen = new HashSet<>();
+        for (List<FuzzyMatch> matches : matchesByDistance) {
+            if (results.size() >= limit) {
+                break;
+            }
+
+            List<TrieNode.Completion> ranked = new ArrayList<>();
+            boolean truncated = false;
+            for (FuzzyMatch match : matches) {
+                TrieNode.Completion[] completions = match.node().topCompletions();
+                ranked.addAll(Arrays.asList(completions));
+                truncated |= completions.length == TrieNode.TOP_K;
+            }
+            ranked.sort(null);
+            for (TrieNode.Completion completion : ranked) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                if (seen.add(completion.word())) {
+                    results.add(completion.word());
+                }
+            }
+
+            if (results.size() < limit && truncated) {
+                for (FuzzyMatch match : matches) {
+                    int before = results.size();
+                    collectWords(match.node(), new StringBuilder(match.path()), results, limit, seen);
+                    seen.addAll(results.subList(before, results.size()));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Walk the Trie with a Levenshtein row per node and collect the shallowest nodes matching
+     * the whole query at each distance.
+     *
+     * @return matching nodes grouped by distance, index {@code d} holding distance {@code d}
+     */
+    private static List<List<FuzzyMatch>> findFuzzyMatches(TrieNode start, String query, int maxEdits) {
+        int columns = query.length() + 1;
+        List<List<FuzzyMatch>> matchesByDistance = new ArrayList<>(maxEdits + 1);
+        for (int d = 0; d <= maxEdits; d++) {
+            matchesByDistance.add(new ArrayList<>());
+        }
+
+        TrieNode[] nodes = new TrieNode[16];
+        int[][] rows = new int[16][];
+        int[] nextChild = new int[16];
+        int[] bestAbove = new int[16];
+        StringBuilder path = new StringBuilder();
+
+        int[] firstRow = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            firstRow[j] = j;
+        }
+        nodes[0] = start;
+        rows[0] = firstRow;
+        bestAbove[0] = maxEdits + 1;
+        if (query.length() <= maxEdits) {
+            matchesByDistance.get(query.length()).add(new FuzzyMatch(start, ""));
+            bestAbove[0] = query.length();
+        }
+        int depth = 1;
+
+        while (depth > 0) {
+            TrieNode node = nodes[depth - 1];
+            int index = nextChild[depth - 1];
+            if (index >= node.childCount()) {
+                depth--;
+                if (depth > 0) {
+                    path.setLength(path.length() - 1);
+                }
+                continue;
+            }
+            nextChild[depth - 1] = index + 1;
+
+            char c = node.keyAt(index);
+            int[] parentRow = rows[depth - 1];
+            int[] row = new int[columns];
+            row[0] = parentRow[0] + 1;
+            int rowMin = row[0];
+            for (int j = 1; j < columns; j++) {
+                int substitution = parentRow[j - 1] + (query.charAt(j - 1) == c ? 0 : 1);
+                row[j] = Math.min(substitution, Math.min(parentRow[j], row[j - 1]) + 1);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+
+            int best = bestAbove[depth - 1];
+            if (rowMin >= best) {
+                continue;
+            }
+
+            TrieNode child = node.childAt(index);
+            path.append(c);
+            int distance = row[columns - 1];
+            if (distance < best) {
+                matchesByDistance.get(distance).add(new FuzzyMatch(child, path.toString()));
+                best = distance;
+            }
+
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                rows = Arrays.copyOf(rows, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+                bestAbove = Arrays.copyOf(bestAbove, depth * 2);
+            }
+            nodes[depth] = child;
+            rows[depth] = row;
+            nextChild[depth] = 0;
+            bestAbove[depth] = best;
+            depth++;
+        }
+        return matchesByDistance;
+    }
+
+    /**
+     * A node whose path matches the whole fuzzy query, and the path itself.
+     */
+    private record FuzzyMatch(TrieNode node, String path) {
+    }
+
+    /**
+     * Find words matching a glob pattern such as {@code te?h*} or {@code [a-c]ontent}, in
+     * ascending alphabetical order.
+     * <p>
+     * The pattern is compiled into a {@link WildcardPattern} automaton and run along the Trie
+     * depth-first, one mask of active states per stack frame. Branches on which no state
+     * survives are never entered, literal pattern characters follow a single child instead of
+     * trying all of them, and once only a trailing {@code *} remains the subtree is collected
+     * without consulting the automaton.
+     *
+     * @param pattern the glob pattern; must match whole words
+     * @param limit   maximum number of results
+     * @return matching words in ascending order
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    public List<String> findWordsMatching(String pattern, int limit) {
+        List<String> results = new ArrayList<>();
+        if (pattern == null || limit <= 0) {
+            return results;
+        }
+
+        String normalizedPattern = pattern.toLowerCase().trim();
+        if (normalizedPattern.isEmpty()) {
+            return results;
+        }
+
+        WildcardPattern automaton = WildcardPattern.compile(normalizedPattern);
+        TrieNode start = root;
+        StringBuilder path = new StringBuilder();
+        if (automaton.acceptsAnySuffix(automaton.initial())) {
+            collectWords(start, path, results, limit, Set.of());
+            return results;
+        }
+
+        TrieNode[] nodes = new TrieNode[16];
+        long[] states = new long[16];
+        int[] nextChild = new int[16];
+        nodes[0] = start;
+        states[0] = automaton.initial();
+        int depth = 1;
+
+        while (depth > 0 && results.size() < limit) {
+            TrieNode node = nodes[depth - 1];
+            long current = states[depth - 1];
+            int index = nextChild[depth - 1];
+            if (index >= node.childCount()) {
+                depth--;
+                if (depth > 0) {
+                    path.setLength(path.length() - 1);
+                }
+                continue;
+            }
+
+            char c;
+            TrieNode child;
+            int required = automaton.requiredCharacter(current);
+            if (required >= 0) {
+                nextChild[depth - 1] = node.childCount();
+                c = (char) required;
+                child = node.getChild(c);
+                if (child == null) {
+                    continue;
+                }
+            } else {
+                nextChild[depth - 1] = index + 1;
+                c = node.keyAt(index);
+                child = node.childAt(index);
+            }
+
+            long next = automaton.step(current, c);
+            if (next == 0) {
+                continue;
+            }
+
+            path.append(c);
+            if (automaton.acceptsAnySuffix(next)) {
+                collectWords(child, path, results, limit, Set.of());
+                path.setLength(path.length() - 1);
+                continue;
+            }
+            if (child.isEndOfWord() && automaton.accepts(next)) {
+                results.add(path.toString());
+            }
+
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                states = Arrays.copyOf(states, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            states[depth] = next;
+            nextChild[depth] = 0;
+            depth++;
+        }
+        return results;
+    }
+
+    /**
+     * Lazily stream the words that start with the given prefix, in ascending order.
+     * <p>
+     * Unlike {@link #findWordsWithPrefix(String)}, nothing is materialized: words are produced
+     * one at a time from the current snapshot, so {@code limit()} short-circuits the walk and
+     * memory use does not grow with the number of matches. Parallel streams split the
+     * traversal at child boundaries.
+     *
+     * @param prefix the prefix to search for
+     * @return the matching words; empty if no word has the prefix
+     */
+    public Stream<String> streamWithPrefix(String prefix) {
+        if (prefix == null) {
+            return Stream.empty();
+        }
+
+        String normalizedPrefix = prefix.toLowerCase().trim();
+        TrieNode node = searchNode(root, normalizedPrefix);
+        if (node == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new PrefixSpliterator(node, normalizedPrefix), false);
+    }
+
+    /**
+     * @return the root of the current snapshot; its nodes must not be modified
+     */
+    TrieNode root() {
+        return root;
+    }
+
+    /**
+     * Publish a fully built tree, such as one decoded by {@link TrieSnapshot}, as the new snapshot.
+     *
+     * @param newRoot root whose word counts and rankings are already final
+     */
+    synchronized void replaceRoot(TrieNode newRoot) {
+        root = newRoot;
+    }
+
+    /**
+     * Publish a fully built tree together with the documents its frequencies already count.
+     *
+     * @param newRoot   root whose word counts and rankings are already final
+     * @param documents ids of the documents counted in {@code newRoot}, null if unknown
+     */
+    synchronized void replaceRoot(TrieNode newRoot, PostingsList documents) {
+        root = newRoot;
+        this.documents = documents;
+    }
+
+    /**
+     * Record documents as counted, as a {@link TrieWriteAheadLog} replay does.
+     */
+    synchronized void restoreDocuments(PostingsList counted) {
+        if (documents != null) {
+            documents = documents.append(counted);
+        }
+    }
+
+    /**
+     * Get the ids of the documents whose words were counted through
+     * {@link #insertDocuments(Map)}. They are carried by snapshots and the write-ahead log, so
+     * after a restart these documents only need their postings re-attached, whatever order
+     * their ids were committed in.
+     *
+     * @return the counted document ids, or null if the Trie was restored from a snapshot written
+     * before documents were tracked
+     */
+    public PostingsList documents() {
+        return documents;
+    }
+
+    /**
+     * Count the words that start with the given prefix without enumerating them.
+     *
+     * @param prefix the prefix to count
+     * @return number of words below the prefix, in O(prefix length)
+     */
+    public int countWithPrefix(String prefix) {
+        TrieNode node = searchNode(root, prefix);
+        return node != null ? node.getWordCount() : 0;
+    }
+
+    /**
+     * Get the documents a word was indexed from through {@link #insertDocuments(Map)}.
+     *
+     * @param word  the word to look up
+     * @param limit maximum number of ids
+     * @return the lowest document ids, ascending; empty if the word is not in the Trie or has
+     * no postings
+     */
+    public long[] postings(String word, int limit) {
+        return postings(word).toArray(limit);
+    }
+
+    /**
+     * Get the compressed postings of a word, for intersecting or merging with other words'.
+     *
+     * @param word the word to look up
+     * @return the ids of the documents the word was indexed from; empty if the word is not in
+     * the Trie or has no postings
+     */
+    public PostingsList postings(String word) {
+        TrieNode node = searchNode(root, word);
+        return node != null && node.isEndOfWord() ? node.postings() : PostingsList.EMPTY;
+    }
+
+    /**
+     * Get the documents containing any word that starts with a prefix: the union of the
+     * postings of every word in the prefix's subtree.
+     *
+     * @param prefix the prefix to expand
+     * @return the ids of the documents any matching word was indexed from
+     */
+    public PostingsList postingsWithPrefix(String prefix) {
+        TrieNode start = searchNode(root, prefix);
+        if (start == null) {
+            return PostingsList.EMPTY;
+        }
+
+        List<PostingsList> lists = new ArrayList<>();
+        Deque<TrieNode> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            TrieNode node = stack.pop();
+            if (!node.postings().isEmpty()) {
+                lists.add(node.postings());
+            }
+            for (int i = 0; i < node.childCount(); i++) {
+                stack.push(node.childAt(i));
+            }
+        }
+        return lists.size() == 1 ? lists.get(0) : PostingsList.union(lists);
+    }
+
+    /**
+     * Get how many times a word has been inserted.
+     *
+     * @param word the word to look up
+     * @return occurrence count, or 0 if the word is not in the Trie
+     */
+    public int frequency(String word) {
+        TrieNode node = searchNode(root, word);
+        return node != null && node.isEndOfWord() ? node.getFrequency() : 0;
+    }
+
+    /**
+     * Compile the current snapshot into an immutable double-array trie for read-mostly serving.
+     *
+     * @return a frozen copy of the words currently in the Trie
+     */
+    public DoubleArrayTrie freeze() {
+        return DoubleArrayTrie.compile(this);
+    }
+
+    /**
+     * @return every word of the current snapshot in ascending order
+     */
+    List<String> words() {
+        List<String> results = new ArrayList<>();
+        collectWords(root, new StringBuilder(), results, Integer.MAX_VALUE, Set.of());
+        return results;
     }
 
     /**
      * Helper method to search for a node corresponding to a prefix/word.
      *
+     * @param start  the root of the snapshot to search
      * @param prefix the prefix to search
      * @return the TrieNode if found, null otherwise
      */
-    private TrieNode searchNode(String prefix) {
+    private TrieNode searchNode(TrieNode start, String prefix) {
         if (prefix == null || prefix.isEmpty()) {
             return null;
         }
 
-        TrieNode current = root;
+        TrieNode current = start;
         String normalizedPrefix = prefix.toLowerCase().trim();
 
         for (char c : normalizedPrefix.toCharArray()) {
@@ -125,42 +1027,115 @@ public class Trie {
     }
 
     /**
-     * Recursively collect all words from a given node.
+     * Collect words below a node in ascending order, stopping after {@code limit} words.
+     * Words are not stored in the nodes; they are rebuilt from a single path buffer that is
+     * extended on the way down and truncated on the way back, so only the returned strings
+     * are allocated. The traversal keeps its own stack, so deep chains cannot overflow the
+     * thread stack.
      *
-     * @param node    starting node
-     * @param prefix  current prefix
+     * @param start   starting node
+     * @param path    characters from the root to {@code start}
      * @param results list to store results
+     * @param limit   maximum number of results
+     * @param skip    words already present in {@code results}
      */
-    private void collectAllWords(TrieNode node, String prefix, List<String> results) {
-        if (node.isEndOfWord()) {
-            results.add(node.getFullWord() != null ? node.getFullWord() : prefix);
+    private void collectWords(TrieNode start, StringBuilder path, List<String> results, int limit,
+                              Set<String> skip) {
+        if (start.isEndOfWord() && (skip.isEmpty() || !skip.contains(path.toString()))) {
+            results.add(path.toString());
+            if (results.size() >= limit) {
+                return;
+            }
         }
 
-        for (Map.Entry<Character, TrieNode> entry : node.getChildren().entrySet()) {
-            collectAllWords(entry.getValue(), prefix + entry.getKey(), results);
+        TrieNode[] nodes = new TrieNode[16];
+        int[] nextChild = new int[16];
+        nodes[0] = start;
+        int depth = 1;
+
+        while (depth > 0) {
+            TrieNode node = nodes[depth - 1];
+            int index = nextChild[depth - 1];
+
+            if (index == node.childCount()) {
+                depth--;
+                if (depth > 0) {
+                    path.setLength(path.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth - 1] = index + 1;
+            TrieNode child = node.childAt(index);
+            path.append(node.keyAt(index));
+
+            if (child.isEndOfWord() && (skip.isEmpty() || !skip.contains(path.toString()))) {
+                results.add(path.toString());
+                if (results.size() >= limit) {
+                    return;
+                }
+            }
+
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+            depth++;
         }
     }
 
     /**
      * Clear all data from the Trie.
      */
+    @Override
     public synchronized void clear() {
-        root.getChildren().clear();
+        root = new TrieNode();
+        documents = PostingsList.EMPTY;
+        if (mutationListener != null) {
+            mutationListener.onClear();
+        }
+    }
+
+    /**
+     * Register an observer that is told about every insert, delete and clear, in order.
+     *
+     * @param listener the listener, or null to remove the current one
+     */
+    public synchronized void setMutationListener(TrieMutationListener listener) {
+        this.mutationListener = listener;
     }
 
     /**
      * Get the total number of words in the Trie.
      *
-     * @return total word count
+     * @return total word count, maintained on every insert and delete
+     */
+    @Override
+    public int size() {
+        return root.getWordCount();
+    }
+
+    /**
+     * Count the nodes below the root.
+     *
+     * @return number of nodes, excluding the root
      */
-    public synchronized int size() {
-        return countWords(root);
+    public int nodeCount() {
+        return countNodes(root) - 1;
     }
 
-    private int countWords(TrieNode node) {
-        int count = node.isEndOfWord() ? 1 : 0;
-        for (TrieNode child : node.getChildren().values()) {
-            count += countWords(child);
+    private int countNodes(TrieNode start) {
+        int count = 0;
+        Deque<TrieNode> pending = new ArrayDeque<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            TrieNode node = pending.pop();
+            count++;
+            for (int i = 0; i < node.childCount(); i++) {
+                pending.push(node.childAt(i));
+            }
         }
         return count;
     }
@@ -0,0 +1,37 @@
+package com.webscraper.trie;
+
+import com.webscraper.index.PostingsList;
+
+/**
+ * Observer of changes to a {@link Trie}, such as a write-ahead log.
+ * <p>
+ * Callbacks run on the writing thread while it holds the Trie's write lock, after the change
+ * has been published, so they see mutations in exactly the order they were applied.
+ * Implementations must be fast and must not call back into the Trie.
+ */
+public interface TrieMutationListener {
+
+    /**
+     * @param word  the normalized word
+     * @param count how many occurrences were added
+     */
+    void onInsert(String word, int count);
+
+    /**
+     * @param word the normalized word that was removed
+     */
+    void onDelete(String word);
+
+    /**
+     * Called after {@link Trie#insertDocuments(java.util.Map)} counted documents it had not
+     * counted before, following the batch's inserts.
+     *
+     * @param documents ids of the newly counted documents, added to {@link Trie#documents()}
+     */
+    void onDocumentsIndexed(PostingsList documents);
+
+    /**
+     * Called after every word was removed.
+     */
+    void onClear();
+}
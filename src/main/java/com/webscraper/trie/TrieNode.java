@@ -1,36 +1,388 @@
 package com.webscraper.trie;
 
-import lombok.Data;
+import com.webscraper.index.PostingsList;
+import lombok.Getter;
+import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Represents a node in the Trie data structure.
- * Each node contains a map of children and a flag indicating if it's the end of a word.
+ * Each node contains its children and a flag indicating if it's the end of a word.
+ * Nodes do not store the words themselves; they are rebuilt from the path during traversal.
+ * Nodes reachable from a published {@link Trie} root are never mutated; writers
+ * modify {@link #copy()}s and publish a new root instead.
+ * <p>
+ * Children are stored in one of three layouts chosen by fan-out, without boxing keys:
+ * <ul>
+ *     <li>up to {@value #INLINE_SLOTS} children live in inline key/child fields</li>
+ *     <li>larger fan-outs use sorted {@code char[]}/{@code TrieNode[]} arrays searched by bisection</li>
+ *     <li>above {@value #DIRECT_THRESHOLD} children, when the keys span at most
+ *     {@value #DIRECT_MAX_RANGE} code points, a direct table indexed by {@code c - tableBase}
+ *     is added on top of the sorted arrays</li>
+ * </ul>
+ * Iteration through {@link #keyAt(int)}/{@link #childAt(int)} is always in ascending key order.
+ * <p>
+ * Every node also caches the {@value #TOP_K} most frequent words of its subtree. The cache
+ * arrays are immutable and shared: a non-terminal node with a single child reuses its
+ * child's array, and copies share the array until a writer offers a new completion.
+ * <p>
+ * Terminal nodes may carry postings: the ascending ids of the documents the word was indexed
+ * from, as an immutable compressed {@link PostingsList} that writers replace when it grows.
  */
-@Data
 public class TrieNode {
 
-    private Map<Character, TrieNode> children;
+    static final int INLINE_SLOTS = 2;
+    static final int DIRECT_THRESHOLD = 16;
+    static final int DIRECT_MAX_RANGE = 128;
+    static final int TOP_K = 32;
+
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+    private int childCount;
+
+    private char key0;
+    private char key1;
+    private TrieNode child0;
+    private TrieNode child1;
+
+    private char[] keys;
+    private TrieNode[] children;
+
+    private TrieNode[] table;
+    private char tableBase;
+
+    @Getter
+    @Setter
     private boolean isEndOfWord;
-    private String fullWord;
 
-    public TrieNode() {
-        this.children = new HashMap<>();
-        this.isEndOfWord = false;
-        this.fullWord = null;
-    }
+    @Getter
+    @Setter
+    private int frequency;
+
+    @Getter
+    @Setter
+    private int wordCount;
+
+    private Completion[] topCompletions = NO_COMPLETIONS;
+
+    private PostingsList postings = PostingsList.EMPTY;
 
     public TrieNode getChild(char c) {
-        return children.get(c);
+        if (table != null) {
+            int slot = c - tableBase;
+            return slot >= 0 && slot < table.length ? table[slot] : null;
+        }
+        if (keys != null) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+        if (childCount > 0 && key0 == c) {
+            return child0;
+        }
+        if (childCount > 1 && key1 == c) {
+            return child1;
+        }
+        return null;
     }
 
     public void addChild(char c, TrieNode node) {
-        children.put(c, node);
+        if (keys == null) {
+            addInlineChild(c, node);
+        } else {
+            addSortedChild(c, node);
+        }
     }
 
     public boolean hasChild(char c) {
-        return children.containsKey(c);
+        return getChild(c) != null;
+    }
+
+    /**
+     * Remove the child for a key, if present, re-packing the remaining children into the
+     * most compact layout for their count.
+     *
+     * @param c the key to remove
+     */
+    public void removeChild(char c) {
+        if (!hasChild(c)) {
+            return;
+        }
+
+        int remaining = childCount - 1;
+        char[] keptKeys = new char[remaining];
+        TrieNode[] keptChildren = new TrieNode[remaining];
+        int kept = 0;
+        for (int i = 0; i < childCount; i++) {
+            if (keyAt(i) != c) {
+                keptKeys[kept] = keyAt(i);
+                keptChildren[kept++] = childAt(i);
+            }
+        }
+
+        childCount = 0;
+        key0 = key1 = 0;
+        child0 = child1 = null;
+        keys = null;
+        children = null;
+        table = null;
+        for (int i = 0; i < remaining; i++) {
+            addChild(keptKeys[i], keptChildren[i]);
+        }
+    }
+
+    /**
+     * @return the number of direct children of this node
+     */
+    public int childCount() {
+        return childCount;
+    }
+
+    /**
+     * @param index position in ascending key order, {@code 0 <= index < childCount()}
+     * @return the key of the child at that position
+     */
+    public char keyAt(int index) {
+        if (keys != null) {
+            return keys[index];
+        }
+        return index == 0 ? key0 : key1;
+    }
+
+    /**
+     * @param index position in ascending key order, {@code 0 <= index < childCount()}
+     * @return the child at that position
+     */
+    public TrieNode childAt(int index) {
+        if (keys != null) {
+            return children[index];
+        }
+        return index == 0 ? child0 : child1;
+    }
+
+    /**
+     * Create a shallow copy of this node. The copy shares its child nodes with the
+     * original, so only the copy's own child slots can be modified safely.
+     *
+     * @return a copy of this node
+     */
+    public TrieNode copy() {
+        TrieNode copy = new TrieNode();
+        copy.childCount = childCount;
+        copy.key0 = key0;
+        copy.key1 = key1;
+        copy.child0 = child0;
+        copy.child1 = child1;
+        if (keys != null) {
+            copy.keys = keys.clone();
+            copy.children = children.clone();
+        }
+        if (table != null) {
+            copy.table = table.clone();
+            copy.tableBase = tableBase;
+        }
+        copy.isEndOfWord = isEndOfWord;
+        copy.frequency = frequency;
+        copy.wordCount = wordCount;
+        copy.topCompletions = topCompletions;
+        copy.postings = postings;
+        return copy;
+    }
+
+    /**
+     * @return ids of the documents this node's word was indexed from
+     */
+    PostingsList postings() {
+        return postings;
+    }
+
+    /**
+     * @param postings ids of the documents this node's word was indexed from
+     */
+    void setPostings(PostingsList postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * @return the most frequent words of this subtree, best first; never modify the array
+     */
+    Completion[] topCompletions() {
+        return topCompletions;
+    }
+
+    /**
+     * Update the cached ranking after a word below (or at) this node changed frequency.
+     * Children on the word's path must already have been updated.
+     *
+     * @param completion the word with its new frequency
+     */
+    void offerCompletion(Completion completion) {
+        if (!isEndOfWord && childCount == 1) {
+            topCompletions = childAt(0).topCompletions;
+            return;
+        }
+        topCompletions = Completion.offer(topCompletions, completion, TOP_K);
+    }
+
+    /**
+     * Rebuild the cached ranking from this node's own word and its children's rankings,
+     * used when a word below this node is removed and may have to be replaced, and when a
+     * subtree is built bottom-up. The children's rankings are already sorted, so they are
+     * merged rather than re-sorted.
+     *
+     * @param ownWord the word this node terminates, read only when {@link #isEndOfWord()}
+     */
+    void recomputeCompletions(String ownWord) {
+        if (!isEndOfWord && childCount == 1) {
+            topCompletions = childAt(0).topCompletions;
+            return;
+        }
+
+        Completion own = isEndOfWord ? new Completion(ownWord, frequency) : null;
+        if (childCount == 0) {
+            topCompletions = own != null ? new Completion[]{own} : NO_COMPLETIONS;
+            return;
+        }
+
+        int available = own != null ? 1 : 0;
+        for (int i = 0; i < childCount; i++) {
+            available += childAt(i).topCompletions.length;
+        }
+        Completion[] merged = new Completion[Math.min(TOP_K, available)];
+        int[] cursors = new int[childCount];
+        for (int target = 0; target < merged.length; target++) {
+            Completion best = own;
+            int bestChild = -1;
+            for (int i = 0; i < childCount; i++) {
+                Completion[] ranking = childAt(i).topCompletions;
+                if (cursors[i] < ranking.length
+                        && (best == null || ranking[cursors[i]].compareTo(best) < 0)) {
+                    best = ranking[cursors[i]];
+                    bestChild = i;
+                }
+            }
+            if (bestChild < 0) {
+                own = null;
+            } else {
+                cursors[bestChild]++;
+            }
+            merged[target] = best;
+        }
+        topCompletions = merged;
+    }
+
+    /**
+     * A word and its occurrence count, ordered by descending frequency and then alphabetically.
+     */
+    record Completion(String word, int frequency) implements Comparable<Completion> {
+
+        @Override
+        public int compareTo(Completion other) {
+            int byFrequency = Integer.compare(other.frequency, frequency);
+            return byFrequency != 0 ? byFrequency : word.compareTo(other.word);
+        }
+
+        /**
+         * Return a ranking with {@code completion} inserted or its previous entry replaced.
+         * The input array is never modified.
+         */
+        static Completion[] offer(Completion[] ranking, Completion completion, int capacity) {
+            int existing = -1;
+            for (int i = 0; i < ranking.length; i++) {
+                if (ranking[i].word.equals(completion.word)) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing < 0 && ranking.length == capacity
+                    && completion.compareTo(ranking[capacity - 1]) >= 0) {
+                return ranking;
+            }
+
+            int length = existing >= 0 ? ranking.length : Math.min(ranking.length + 1, capacity);
+            Completion[] updated = new Completion[length];
+            int source = 0;
+            boolean placed = false;
+            for (int target = 0; target < length; target++) {
+                if (source == existing) {
+                    source++;
+                }
+                if (!placed && (source >= ranking.length || completion.compareTo(ranking[source]) < 0)) {
+                    updated[target] = completion;
+                    placed = true;
+                } else {
+                    updated[target] = ranking[source++];
+                }
+            }
+            return updated;
+        }
+    }
+
+    private void addInlineChild(char c, TrieNode node) {
+        if (childCount > 0 && key0 == c) {
+            child0 = node;
+        } else if (childCount > 1 && key1 == c) {
+            child1 = node;
+        } else if (childCount == 0) {
+            key0 = c;
+            child0 = node;
+            childCount = 1;
+        } else if (childCount == 1) {
+            if (c < key0) {
+                key1 = key0;
+                child1 = child0;
+                key0 = c;
+                child0 = node;
+            } else {
+                key1 = c;
+                child1 = node;
+            }
+            childCount = 2;
+        } else {
+            keys = new char[]{key0, key1};
+            children = new TrieNode[]{child0, child1};
+            key0 = key1 = 0;
+            child0 = child1 = null;
+            addSortedChild(c, node);
+        }
+    }
+
+    private void addSortedChild(char c, TrieNode node) {
+        int index = Arrays.binarySearch(keys, 0, childCount, c);
+        if (index >= 0) {
+            children[index] = node;
+            if (table != null) {
+                table[c - tableBase] = node;
+            }
+            return;
+        }
+
+        int insertAt = -index - 1;
+        char[] grownKeys = new char[childCount + 1];
+        TrieNode[] grownChildren = new TrieNode[childCount + 1];
+        System.arraycopy(keys, 0, grownKeys, 0, insertAt);
+        System.arraycopy(children, 0, grownChildren, 0, insertAt);
+        grownKeys[insertAt] = c;
+        grownChildren[insertAt] = node;
+        System.arraycopy(keys, insertAt, grownKeys, insertAt + 1, childCount - insertAt);
+        System.arraycopy(children, insertAt, grownChildren, insertAt + 1, childCount - insertAt);
+        keys = grownKeys;
+        children = grownChildren;
+        childCount++;
+
+        rebuildTable();
+    }
+
+    private void rebuildTable() {
+        int range = keys[childCount - 1] - keys[0] + 1;
+        if (childCount <= DIRECT_THRESHOLD || range > DIRECT_MAX_RANGE) {
+            table = null;
+            return;
+        }
+        tableBase = keys[0];
+        table = new TrieNode[range];
+        for (int i = 0; i < childCount; i++) {
+            table[keys[i] - tableBase] = children[i];
+        }
     }
 }
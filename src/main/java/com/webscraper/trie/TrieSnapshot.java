@@ -0,0 +1,397 @@
+package com.webscraper.trie;
+
+import com.webscraper.index.PostingsList;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of a {@link Trie}, used to restore the index after a restart.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ *   int   magic      'TRIE'
+ *   byte  version    3
+ *   long  log        first {@link TrieWriteAheadLog} segment not included (version 2 onward)
+ *   int   documents  number of {@link Trie#documents()}, -1 if unknown (version 3 only)
+ *   int   words      number of words
+ *   int   nodes      number of nodes, root included
+ *   ...   body       nodes in depth-first pre-order, then the documents (version 3 only)
+ *   int   crc32      checksum of the body
+ * </pre>
+ * Each node is a varint {@code childCount << 1 | terminal}, followed by a varint frequency when
+ * terminal, followed by its children in ascending key order, each as a varint key and the
+ * child's own encoding. Documents are the varint deltas between ascending ids. Word counts and
+ * top-K rankings are derived data and are rebuilt on load.
+ * <p>
+ * Writes capture one published root, so they never block inserts, and go to a temporary file
+ * that atomically replaces the previous snapshot. When a write-ahead log is given, the root is
+ * captured and the log rolled over under the Trie's write lock, so the snapshot plus the
+ * segments from the recorded one onward contain every mutation exactly once. Loads read the
+ * whole file with sequential {@link FileChannel} reads before decoding.
+ */
+public final class TrieSnapshot {
+
+    static final int MAGIC = 0x54524945;
+    static final byte VERSION = 3;
+
+    private static final int V1_HEADER_BYTES = 13;
+    private static final int V2_HEADER_BYTES = 21;
+    private static final int HEADER_BYTES = 25;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private TrieSnapshot() {
+    }
+
+    /**
+     * Write the current contents of a Trie.
+     *
+     * @param trie the trie to persist
+     * @param path destination file; replaced atomically
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Trie trie, Path path) throws IOException {
+        TrieNode root;
+        PostingsList documents;
+        synchronized (trie) {
+            root = trie.root();
+            documents = trie.documents();
+        }
+        write(root, documents, 0, path);
+    }
+
+    /**
+     * Write the current contents of a Trie as a checkpoint of its write-ahead log, then delete
+     * the log segments the snapshot covers.
+     *
+     * @param trie the trie to persist; {@code log} must be its mutation listener
+     * @param path destination file; replaced atomically
+     * @param log  the trie's write-ahead log
+     * @throws IOException if the file cannot be written or the log cannot be rolled over
+     */
+    public static void write(Trie trie, Path path, TrieWriteAheadLog log) throws IOException {
+        TrieNode root;
+        PostingsList documents;
+        long logSequence;
+        synchronized (trie) {
+            root = trie.root();
+            documents = trie.documents();
+            logSequence = log.roll();
+        }
+        write(root, documents, logSequence, path);
+        log.deleteSegmentsBefore(logSequence);
+    }
+
+    private static void write(TrieNode root, PostingsList documents, long logSequence, Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            Encoder encoder = new Encoder(channel);
+            encoder.buffer.position(HEADER_BYTES);
+            int nodes = encoder.writeTree(root);
+            if (documents != null) {
+                encoder.writeDocuments(documents);
+            }
+            encoder.flush();
+
+            ByteBuffer trailer = ByteBuffer.allocate(4).putInt((int) encoder.crc.getValue()).flip();
+            writeFully(channel, trailer);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).put(VERSION).putLong(logSequence).putInt(documents == null ? -1 : documents.size())
+                    .putInt(root.getWordCount()).putInt(nodes).flip();
+            channel.write(header, 0);
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replace the contents of a Trie with a previously written snapshot. Snapshots written
+     * before documents were tracked leave {@link Trie#documents()} null.
+     *
+     * @param trie the trie to restore into
+     * @param path the snapshot file
+     * @return the first write-ahead log segment to replay on top of the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static long restore(Trie trie, Path path) throws IOException {
+        Decoded decoded = read(path);
+        trie.replaceRoot(decoded.root(), decoded.documents());
+        return decoded.logSequence();
+    }
+
+    /**
+     * Decode a snapshot file into a detached tree.
+     *
+     * @return the root node, with word counts and rankings computed, the log sequence and the
+     * counted documents
+     */
+    static Decoded read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < V1_HEADER_BYTES + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a trie snapshot: " + path);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the whole file is in memory
+            }
+            buffer.flip();
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a trie snapshot: " + path);
+        }
+        byte version = buffer.get();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported trie snapshot version " + version + ": " + path);
+        }
+        int headerBytes = switch (version) {
+            case 1 -> V1_HEADER_BYTES;
+            case 2 -> V2_HEADER_BYTES;
+            default -> HEADER_BYTES;
+        };
+        if (buffer.limit() < headerBytes + 4) {
+            throw new IOException("Corrupted trie snapshot: " + path);
+        }
+        long logSequence = version == 1 ? 0 : buffer.getLong();
+        int documents = version < 3 ? -1 : buffer.getInt();
+        int words = buffer.getInt();
+        int nodes = buffer.getInt();
+
+        int bodyEnd = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), headerBytes, bodyEnd - headerBytes);
+        if ((int) crc.getValue() != buffer.getInt(bodyEnd)) {
+            throw new IOException("Corrupted trie snapshot: " + path);
+        }
+        buffer.limit(bodyEnd);
+
+        try {
+            TrieNode root = readTree(buffer, nodes);
+            PostingsList counted = documents < 0 ? null : readDocuments(buffer, documents);
+            if (root.getWordCount() != words || buffer.hasRemaining()) {
+                throw new IOException("Corrupted trie snapshot: " + path);
+            }
+            return new Decoded(root, logSequence, counted);
+        } catch (BufferUnderflowException | IllegalStateException e) {
+            throw new IOException("Corrupted trie snapshot: " + path, e);
+        }
+    }
+
+    /**
+     * A decoded tree, the first log segment it does not include and the documents whose words
+     * it counts, null if unknown.
+     */
+    record Decoded(TrieNode root, long logSequence, PostingsList documents) {
+    }
+
+    private static TrieNode readTree(ByteBuffer buffer, int expectedNodes) {
+        TrieNode[] nodes = new TrieNode[16];
+        int[] remaining = new int[16];
+        StringBuilder path = new StringBuilder();
+        int decoded = 1;
+
+        nodes[0] = new TrieNode();
+        remaining[0] = readNode(buffer, nodes[0]);
+        int depth = 1;
+
+        while (depth > 0) {
+            TrieNode node = nodes[depth - 1];
+            if (remaining[depth - 1] > 0) {
+                remaining[depth - 1]--;
+                char key = (char) readVarint(buffer);
+                TrieNode child = new TrieNode();
+                int children = readNode(buffer, child);
+                node.addChild(key, child);
+                if (++decoded > expectedNodes) {
+                    throw new IllegalStateException("More nodes than declared");
+                }
+
+                path.append(key);
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    remaining = Arrays.copyOf(remaining, depth * 2);
+                }
+                nodes[depth] = child;
+                remaining[depth] = children;
+                depth++;
+                continue;
+            }
+
+            Trie.finishNode(node, path);
+            if (--depth > 0) {
+                path.setLength(path.length() - 1);
+            }
+        }
+        if (decoded != expectedNodes) {
+            throw new IllegalStateException("Fewer nodes than declared");
+        }
+        return nodes[0];
+    }
+
+    /**
+     * Read a node's flags and frequency into {@code node}.
+     *
+     * @return the number of children that follow
+     */
+    private static int readNode(ByteBuffer buffer, TrieNode node) {
+        int flags = readVarint(buffer);
+        if ((flags & 1) != 0) {
+            node.setEndOfWord(true);
+            node.setFrequency(readVarint(buffer));
+        }
+        return flags >>> 1;
+    }
+
+    private static PostingsList readDocuments(ByteBuffer buffer, int count) {
+        PostingsList.Builder documents = new PostingsList.Builder();
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            id += readVarlong(buffer);
+            documents.add(id);
+        }
+        return documents.build();
+    }
+
+    private static long readVarlong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Buffers the body in 1 MiB chunks and checksums each chunk as it is flushed.
+     */
+    private static final class Encoder {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final CRC32 crc = new CRC32();
+        private int checksumFrom = HEADER_BYTES;
+
+        private Encoder(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * @return the number of nodes written, root included
+         */
+        private int writeTree(TrieNode root) throws IOException {
+            TrieNode[] nodes = new TrieNode[16];
+            int[] nextChild = new int[16];
+            int written = 1;
+
+            writeNode(root);
+            nodes[0] = root;
+            int depth = 1;
+
+            while (depth > 0) {
+                TrieNode node = nodes[depth - 1];
+                int index = nextChild[depth - 1];
+                if (index < node.childCount()) {
+                    nextChild[depth - 1] = index + 1;
+                    TrieNode child = node.childAt(index);
+                    writeVarint(node.keyAt(index));
+                    writeNode(child);
+                    written++;
+
+                    if (depth == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, depth * 2);
+                        nextChild = Arrays.copyOf(nextChild, depth * 2);
+                    }
+                    nodes[depth] = child;
+                    nextChild[depth] = 0;
+                    depth++;
+                    continue;
+                }
+                depth--;
+            }
+            return written;
+        }
+
+        private void writeNode(TrieNode node) throws IOException {
+            writeVarint(node.childCount() << 1 | (node.isEndOfWord() ? 1 : 0));
+            if (node.isEndOfWord()) {
+                writeVarint(node.getFrequency());
+            }
+        }
+
+        private void writeDocuments(PostingsList documents) throws IOException {
+            PostingsList.Cursor cursor = documents.cursor();
+            long previous = 0;
+            for (long id = cursor.next(); id != PostingsList.NO_MORE; id = cursor.next()) {
+                writeVarlong(id - previous);
+                previous = id;
+            }
+        }
+
+        private void writeVarlong(long value) throws IOException {
+            if (buffer.remaining() < 10) {
+                flush();
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void writeVarint(int value) throws IOException {
+            if (buffer.remaining() < 5) {
+                flush();
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void flush() throws IOException {
+            crc.update(buffer.array(), checksumFrom, buffer.position() - checksumFrom);
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+            checksumFrom = 0;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package com.webscraper.trie;
+
+import com.webscraper.index.PostingsList;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of {@link Trie} mutations, used to recover words indexed after the last
+ * {@link TrieSnapshot}.
+ * <p>
+ * Mutations are encoded into an in-memory buffer on the writing thread. A background thread
+ * group-commits that buffer every sync interval as one frame ({@code int length, int crc32,
+ * payload}) and forces it to disk, so inserts never wait for I/O and at most one interval of
+ * mutations is lost in a crash. A torn final frame fails its checksum and is ignored on replay.
+ * <p>
+ * When a sync fails the log is marked failed: the error is logged once, {@link #sync()} rethrows
+ * it, and mutations are dropped instead of buffered. The next snapshot captures everything the
+ * log dropped, so {@link #roll()} leaves the failed segment behind and resumes logging in a new
+ * one.
+ * <p>
+ * The log is split into numbered segment files. Taking a snapshot rolls over to a new segment
+ * at the same instant the snapshot root is captured; once the snapshot is on disk, older
+ * segments are deleted. Records are a type byte followed by varints: the count and the word
+ * for inserts, the word for deletes, nothing for clears, and the number of ids followed by
+ * their ascending deltas for the documents a batch counted. Words are a length and one varint
+ * per character.
+ */
+@Slf4j
+public final class TrieWriteAheadLog implements TrieMutationListener, Closeable {
+
+    private static final byte INSERT = 1;
+    private static final byte DELETE = 2;
+    private static final byte CLEAR = 3;
+    private static final byte DOCUMENTS = 4;
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final Object ioLock = new Object();
+    private final ScheduledExecutorService syncer;
+
+    private byte[] pending = new byte[INITIAL_BUFFER_BYTES];
+    private int pendingLength;
+    private byte[] spare = new byte[INITIAL_BUFFER_BYTES];
+
+    private FileChannel channel;
+    private long segment;
+    private volatile IOException failure;
+
+    private TrieWriteAheadLog(Path directory, long segment, long syncIntervalMs) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = openSegment(segment);
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trie-wal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start a new segment after any existing ones and begin syncing it periodically.
+     *
+     * @param directory      directory holding the segment files
+     * @param syncIntervalMs how often buffered mutations are written and forced to disk
+     * @return the open log
+     * @throws IOException if the directory or segment cannot be created
+     */
+    public static TrieWriteAheadLog open(Path directory, long syncIntervalMs) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> existing = segments(directory);
+        long next = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+        return new TrieWriteAheadLog(directory, next, syncIntervalMs);
+    }
+
+    /**
+     * Apply the logged mutations of every segment numbered {@code fromSegment} or later.
+     * Call this before a listener is registered on the Trie, or the replay is logged again.
+     *
+     * @param directory   directory holding the segment files
+     * @param fromSegment first segment not covered by the restored snapshot
+     * @param trie        the trie to apply the mutations to
+     * @return the number of mutations applied
+     * @throws IOException if a segment cannot be read
+     */
+    public static long replay(Path directory, long fromSegment, Trie trie) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        long applied = 0;
+        for (long id : segments(directory)) {
+            if (id >= fromSegment) {
+                applied += replaySegment(ByteBuffer.wrap(Files.readAllBytes(segmentPath(directory, id))), trie);
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public synchronized void onInsert(String word, int count) {
+        if (failure != null) {
+            return;
+        }
+        ensureCapacity(1 + 5 + 5 + word.length() * 3);
+        pending[pendingLength++] = INSERT;
+        putVarint(count);
+        putWord(word);
+    }
+
+    @Override
+    public synchronized void onDelete(String word) {
+        if (failure != null) {
+            return;
+        }
+        ensureCapacity(1 + 5 + word.length() * 3);
+        pending[pendingLength++] = DELETE;
+        putWord(word);
+    }
+
+    @Override
+    public synchronized void onDocumentsIndexed(PostingsList documents) {
+        if (failure != null) {
+            return;
+        }
+        ensureCapacity(1 + 5 + documents.size() * 10);
+        pending[pendingLength++] = DOCUMENTS;
+        putVarint(documents.size());
+        PostingsList.Cursor cursor = documents.cursor();
+        long previous = 0;
+        for (long id = cursor.next(); id != PostingsList.NO_MORE; id = cursor.next()) {
+            putVarlong(id - previous);
+            previous = id;
+        }
+    }
+
+    @Override
+    public synchronized void onClear() {
+        if (failure != null) {
+            return;
+        }
+        ensureCapacity(1);
+        pending[pendingLength++] = CLEAR;
+    }
+
+    /**
+     * Write buffered mutations as one frame and force them to disk.
+     *
+     * @throws IOException if writing failed now or in an earlier sync since the last roll
+     */
+    public void sync() throws IOException {
+        synchronized (ioLock) {
+            rethrowFailure();
+            byte[] batch;
+            int length;
+            synchronized (this) {
+                batch = pending;
+                length = pendingLength;
+                pending = spare;
+                pendingLength = 0;
+                spare = batch;
+            }
+            if (length == 0) {
+                return;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(batch, 0, length);
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES).putInt(length).putInt((int) crc.getValue()).flip();
+            ByteBuffer payload = ByteBuffer.wrap(batch, 0, length);
+            try {
+                while (header.hasRemaining() || payload.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, payload});
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                markFailed(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Sync the current segment and continue in a new one. Called while the Trie's write lock
+     * is held, so the new segment starts exactly at the captured snapshot. A failed log resumes
+     * in the new segment, since the snapshot covers the mutations it dropped.
+     *
+     * @return the number of the new segment, the first one a snapshot taken now does not cover
+     * @throws IOException if the new segment cannot be created
+     */
+    long roll() throws IOException {
+        synchronized (ioLock) {
+            try {
+                sync();
+                channel.close();
+            } catch (IOException e) {
+                synchronized (this) {
+                    pendingLength = 0;
+                }
+                closeQuietly();
+            }
+            segment++;
+            channel = openSegment(segment);
+            if (failure != null) {
+                failure = null;
+                log.info("Write-ahead log resumed in segment {}", segment);
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Delete the segments that a written snapshot has made redundant.
+     *
+     * @param firstKept the first segment to keep
+     * @throws IOException if a segment cannot be deleted
+     */
+    void deleteSegmentsBefore(long firstKept) throws IOException {
+        for (long id : segments(directory)) {
+            if (id < firstKept) {
+                Files.deleteIfExists(segmentPath(directory, id));
+            }
+        }
+    }
+
+    /**
+     * Stop background syncing, sync what is buffered and close the current segment.
+     *
+     * @throws IOException if the final sync fails
+     */
+    @Override
+    public void close() throws IOException {
+        syncer.shutdown();
+        synchronized (ioLock) {
+            try {
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            // logged when the log was marked failed
+        }
+    }
+
+    private void markFailed(IOException e) {
+        synchronized (this) {
+            failure = e;
+            pendingLength = 0;
+        }
+        log.error("Write-ahead log sync to segment {} failed; dropping mutations until the next snapshot",
+                segment, e);
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close write-ahead log segment {}: {}", segment, e.getMessage());
+        }
+    }
+
+    private void rethrowFailure() throws IOException {
+        IOException previous = failure;
+        if (previous != null) {
+            throw new IOException("Write-ahead log sync failed", previous);
+        }
+    }
+
+    private FileChannel openSegment(long id) throws IOException {
+        return FileChannel.open(segmentPath(directory, id), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pendingLength + bytes > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + bytes));
+        }
+    }
+
+    private void putWord(String word) {
+        putVarint(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            putVarint(word.charAt(i));
+        }
+    }
+
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            pending[pendingLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        pending[pendingLength++] = (byte) value;
+    }
+
+    private void putVarlong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            pending[pendingLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        pending[pendingLength++] = (byte) value;
+    }
+
+    /**
+     * Apply the complete frames of one segment, stopping at the first torn or corrupted frame.
+     * Consecutive inserts are summed per word and applied together as one counted batch.
+     */
+    private static long replaySegment(ByteBuffer buffer, Trie trie) {
+        long applied = 0;
+        Map<String, Integer> inserts = new TreeMap<>();
+
+        while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            ByteBuffer frame = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            while (frame.hasRemaining()) {
+                byte type = frame.get();
+                if (type == INSERT) {
+                    int count = getVarint(frame);
+                    inserts.merge(getWord(frame), count, Integer::sum);
+                } else {
+                    insertCounted(trie, inserts);
+                    if (type == DELETE) {
+                        trie.delete(getWord(frame));
+                    } else if (type == DOCUMENTS) {
+                        trie.restoreDocuments(getDocuments(frame));
+                    } else {
+                        trie.clear();
+                    }
+                }
+                applied++;
+            }
+        }
+        insertCounted(trie, inserts);
+        return applied;
+    }
+
+    private static void insertCounted(Trie trie, Map<String, Integer> inserts) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        String[] sorted = new String[inserts.size()];
+        int[] counts = new int[inserts.size()];
+        int distinct = 0;
+        for (Map.Entry<String, Integer> insert : inserts.entrySet()) {
+            sorted[distinct] = insert.getKey();
+            counts[distinct++] = insert.getValue();
+        }
+        trie.insertCounted(sorted, counts, distinct);
+        inserts.clear();
+    }
+
+    private static String getWord(ByteBuffer buffer) {
+        int length = getVarint(buffer);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) getVarint(buffer));
+        }
+        return word.toString();
+    }
+
+    private static PostingsList getDocuments(ByteBuffer buffer) {
+        int count = getVarint(buffer);
+        PostingsList.Builder documents = new PostingsList.Builder();
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            id += getVarlong(buffer);
+            documents.add(id);
+        }
+        return documents.build();
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long getVarlong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static Path segmentPath(Path directory, long id) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
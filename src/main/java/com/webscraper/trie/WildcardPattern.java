@@ -0,0 +1,228 @@
+package com.webscraper.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Glob pattern compiled to a position automaton that can be run one character at a time
+ * along a {@link Trie} path.
+ * <p>
+ * Supported syntax: {@code ?} matches one character, {@code *} any run of characters
+ * (including none), {@code [abc]} and {@code [a-c]} one character of a class, {@code [^a-c]}
+ * one character outside it, and {@code \} escapes the next character. Patterns match whole
+ * words.
+ * <p>
+ * State {@code i} means the first {@code i} pattern elements have been matched; state
+ * {@code n} accepts. A set of active states is one {@code long} bit mask, so stepping the
+ * automaton allocates nothing and a Trie walk can keep one mask per stack frame. The empty
+ * mask means no word below the current path can match, which is what lets the walk prune.
+ */
+final class WildcardPattern {
+
+    /**
+     * Longest supported pattern, in elements, so that every state fits one mask bit.
+     */
+    static final int MAX_ELEMENTS = 63;
+
+    private static final byte LITERAL = 0;
+    private static final byte ANY = 1;
+    private static final byte STAR = 2;
+    private static final byte CLASS = 3;
+
+    private final byte[] kinds;
+    private final char[] literals;
+    private final char[][] ranges;
+    private final boolean[] negated;
+    private final long[] closures;
+    private final long accepting;
+    private final long matchesAnySuffix;
+
+    private WildcardPattern(byte[] kinds, char[] literals, char[][] ranges, boolean[] negated) {
+        int n = kinds.length;
+        this.kinds = kinds;
+        this.literals = literals;
+        this.ranges = ranges;
+        this.negated = negated;
+        this.accepting = 1L << n;
+
+        // A star can match nothing, so entering its state also enters the next one
+        closures = new long[n + 1];
+        closures[n] = accepting;
+        long anySuffix = 0;
+        boolean onlyStarsAfter = true;
+        for (int i = n - 1; i >= 0; i--) {
+            closures[i] = 1L << i | (kinds[i] == STAR ? closures[i + 1] : 0);
+            onlyStarsAfter &= kinds[i] == STAR;
+            if (onlyStarsAfter) {
+                anySuffix |= 1L << i;
+            }
+        }
+        this.matchesAnySuffix = anySuffix;
+    }
+
+    /**
+     * Parse a normalized glob pattern.
+     *
+     * @param pattern the pattern to compile
+     * @return the compiled automaton
+     * @throws IllegalArgumentException if the pattern is malformed or longer than
+     *                                  {@link #MAX_ELEMENTS} elements
+     */
+    static WildcardPattern compile(String pattern) {
+        List<Byte> kinds = new ArrayList<>();
+        StringBuilder literals = new StringBuilder();
+        List<char[]> ranges = new ArrayList<>();
+        List<Boolean> negated = new ArrayList<>();
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            char literal = 0;
+            char[] classRanges = null;
+            boolean negate = false;
+            byte kind;
+
+            if (c == '*') {
+                if (!kinds.isEmpty() && kinds.get(kinds.size() - 1) == STAR) {
+                    continue;
+                }
+                kind = STAR;
+            } else if (c == '?') {
+                kind = ANY;
+            } else if (c == '[') {
+                int close = pattern.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unterminated character class in pattern: " + pattern);
+                }
+                negate = i < close && pattern.charAt(i) == '^';
+                classRanges = parseClass(pattern.substring(negate ? i + 1 : i, close), pattern);
+                i = close + 1;
+                kind = CLASS;
+            } else if (c == '\\') {
+                if (i == pattern.length()) {
+                    throw new IllegalArgumentException("Dangling escape in pattern: " + pattern);
+                }
+                literal = pattern.charAt(i++);
+                kind = LITERAL;
+            } else {
+                literal = c;
+                kind = LITERAL;
+            }
+
+            if (kinds.size() == MAX_ELEMENTS) {
+                throw new IllegalArgumentException("Pattern is longer than " + MAX_ELEMENTS + " elements");
+            }
+            kinds.add(kind);
+            literals.append(literal);
+            ranges.add(classRanges);
+            negated.add(negate);
+        }
+
+        byte[] kindArray = new byte[kinds.size()];
+        boolean[] negatedArray = new boolean[kinds.size()];
+        for (int k = 0; k < kindArray.length; k++) {
+            kindArray[k] = kinds.get(k);
+            negatedArray[k] = negated.get(k);
+        }
+        return new WildcardPattern(kindArray, literals.toString().toCharArray(),
+                ranges.toArray(new char[0][]), negatedArray);
+    }
+
+    /**
+     * @return the states active before any character has been read
+     */
+    long initial() {
+        return closures[0];
+    }
+
+    /**
+     * Advance every active state over one character.
+     *
+     * @param states the active states
+     * @param c      the next character of the path
+     * @return the states active after {@code c}; 0 if no continuation can match
+     */
+    long step(long states, char c) {
+        long next = 0;
+        long remaining = states & ~accepting;
+        while (remaining != 0) {
+            int i = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            if (kinds[i] == STAR) {
+                next |= closures[i];
+            } else if (matches(i, c)) {
+                next |= closures[i + 1];
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return true if the path read so far is a complete match
+     */
+    boolean accepts(long states) {
+        return (states & accepting) != 0;
+    }
+
+    /**
+     * @return true if every continuation of the path read so far matches, as after a trailing
+     * {@code *}, so the whole subtree can be collected without stepping the automaton
+     */
+    boolean acceptsAnySuffix(long states) {
+        return (states & matchesAnySuffix) != 0;
+    }
+
+    /**
+     * Report whether the active states can only continue with one specific character, so a
+     * walk can look that child up directly instead of trying every child.
+     *
+     * @return the only character that can follow, or -1 if several can
+     */
+    int requiredCharacter(long states) {
+        if (Long.bitCount(states) != 1 || states == accepting) {
+            return -1;
+        }
+        int i = Long.numberOfTrailingZeros(states);
+        return kinds[i] == LITERAL ? literals[i] : -1;
+    }
+
+    private boolean matches(int element, char c) {
+        switch (kinds[element]) {
+            case LITERAL:
+                return literals[element] == c;
+            case ANY:
+                return true;
+            default:
+                char[] classRanges = ranges[element];
+                boolean inClass = false;
+                for (int r = 0; r < classRanges.length && !inClass; r += 2) {
+                    inClass = c >= classRanges[r] && c <= classRanges[r + 1];
+                }
+                return inClass != negated[element];
+        }
+    }
+
+    /**
+     * Parse the body of a character class into inclusive {@code low, high} pairs.
+     */
+    private static char[] parseClass(String body, String pattern) {
+        if (body.isEmpty()) {
+            throw new IllegalArgumentException("Empty character class in pattern: " + pattern);
+        }
+
+        StringBuilder pairs = new StringBuilder();
+        for (int i = 0; i < body.length(); i++) {
+            char low = body.charAt(i);
+            char high = low;
+            if (i + 2 < body.length() && body.charAt(i + 1) == '-') {
+                high = body.charAt(i + 2);
+                i += 2;
+                if (high < low) {
+                    throw new IllegalArgumentException("Invalid range " + low + "-" + high + " in pattern: " + pattern);
+                }
+            }
+            pairs.append(low).append(high);
+        }
+        return pairs.toString().toCharArray();
+    }
+}
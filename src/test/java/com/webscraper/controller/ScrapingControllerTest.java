@@ -2,6 +2,9 @@ package com.webscraper.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.webscraper.dto.*;
+import com.webscraper.enums.SearchMode;
+import com.webscraper.exception.IndexNotReadyException;
+import com.webscraper.exception.InvalidPatternException;
 import com.webscraper.service.ScrapingService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +18,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -109,6 +113,72 @@ class ScrapingControllerTest {
                 .andExpect(jsonPath("$.results").isArray());
     }
 
+    @Test
+    void testSearch_FuzzyMaxEditsValidationError() throws Exception {
+        // Given - more edits than supported
+        SearchRequest request = SearchRequest.builder()
+                .prefix("tehc")
+                .limit(5)
+                .fuzzy(true)
+                .maxEdits(3)
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearch_NullMaxEditsValidationError() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prefix\":\"tehc\",\"limit\":5,\"fuzzy\":true,\"maxEdits\":null}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(scrapingService);
+    }
+
+    @Test
+    void testSearch_InvalidPattern() throws Exception {
+        // Given
+        SearchRequest request = SearchRequest.builder()
+                .prefix("[a-c")
+                .limit(5)
+                .mode(SearchMode.PATTERN)
+                .build();
+
+        when(scrapingService.search(any(SearchRequest.class)))
+                .thenThrow(new InvalidPatternException("Unterminated character class in pattern: [a-c"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unterminated character class in pattern: [a-c"));
+    }
+
+    @Test
+    void testSearch_IndexNotReady() throws Exception {
+        // Given
+        SearchRequest request = SearchRequest.builder()
+                .prefix("tech")
+                .limit(5)
+                .build();
+
+        when(scrapingService.search(any(SearchRequest.class)))
+                .thenThrow(new IndexNotReadyException("Search index is still being rebuilt"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
     @Test
     void testGetJobStatus_Success() throws Exception {
         // Given
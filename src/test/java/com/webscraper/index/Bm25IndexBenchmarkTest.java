@@ -0,0 +1,83 @@
+package com.webscraper.index;
+
+import com.webscraper.entity.ScrapedData;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Top-10 BM25 ranking with MaxScore pruning compared with scoring every posting, for queries
+ * mixing common and rare terms, and for prefixes of a common word. Skipped by default; run with
+ * {@code mvn test -Dtest=Bm25IndexBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class Bm25IndexBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WORDS_PER_ROW = 150;
+    private static final int VOCABULARY = 50_000;
+
+    @Test
+    void topKWithAndWithoutPruning() {
+        Random random = new Random(11);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+
+        List<ScrapedData> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_ROW; w++) {
+                // Zipf-like skew: a few words appear everywhere, most are rare
+                content.append(vocabulary[(int) (VOCABULARY * Math.pow(random.nextDouble(), 4))]).append(' ');
+            }
+            rows.add(ScrapedData.builder().id((long) i + 1).content(content.toString()).build());
+        }
+
+        Bm25Index index = new Bm25Index();
+        long begin = System.nanoTime();
+        index.addAll(rows);
+        log.info("bm25 index rows={} built in {} ms, terms={}",
+                ROWS, (System.nanoTime() - begin) / 1_000_000, index.termCount());
+
+        List<List<String>> queries = List.of(
+                List.of(vocabulary[0], vocabulary[1], vocabulary[2], vocabulary[3]),
+                List.of(vocabulary[0], vocabulary[10], vocabulary[5000]),
+                List.of(vocabulary[1], vocabulary[20000], vocabulary[30000], vocabulary[40000]));
+        for (int round = 0; round < 3; round++) {
+            for (List<String> query : queries) {
+                begin = System.nanoTime();
+                List<Long> pruned = index.search(query, 10);
+                long maxScore = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                List<Long> exhaustive = index.searchWithoutPruning(query, 10);
+                long full = System.nanoTime() - begin;
+                log.info("{}: MaxScore {} us  exhaustive {} us  same top-10: {}",
+                        query, maxScore / 1_000, full / 1_000, pruned.equals(exhaustive));
+            }
+
+            for (String prefix : List.of(vocabulary[0].substring(0, 2), vocabulary[0].substring(0, 3))) {
+                begin = System.nanoTime();
+                List<Long> results = index.searchPrefix(prefix, 10);
+                log.info("prefix '{}': {} results in {} us",
+                        prefix, results.size(), (System.nanoTime() - begin) / 1_000);
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        int length = 4 + random.nextInt(9);
+        StringBuilder word = new StringBuilder(length);
+        for (int j = 0; j < length; j++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
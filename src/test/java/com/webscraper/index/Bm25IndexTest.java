@@ -0,0 +1,132 @@
+package com.webscraper.index;
+
+import com.webscraper.entity.ScrapedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bm25Index.
+ */
+class Bm25IndexTest {
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void setUp() {
+        index = new Bm25Index();
+    }
+
+    @Test
+    void testRanksByTermFrequencyAndLength() {
+        // Given
+        index.addAll(List.of(
+                row(1L, "Blockchain news and more news about markets, weather and sports today"),
+                row(2L, "Blockchain blockchain blockchain explained"),
+                row(3L, "Nothing relevant here"),
+                row(4L, "A short blockchain note")));
+
+        // When
+        List<Long> ranked = index.search(List.of("blockchain"), 10);
+
+        // Then
+        assertEquals(List.of(2L, 4L, 1L), ranked);
+        assertEquals(List.of(2L), index.search(List.of("Blockchain"), 1));
+        assertTrue(index.search(List.of("missing"), 10).isEmpty());
+    }
+
+    @Test
+    void testRareTermsOutweighCommonOnes() {
+        // Given
+        index.addAll(List.of(
+                row(1L, "market market market update"),
+                row(2L, "market crash update"),
+                row(3L, "market rally update"),
+                row(4L, "market news update")));
+
+        // When
+        List<Long> ranked = index.search(List.of("market", "crash"), 2);
+
+        // Then
+        assertEquals(2L, ranked.get(0));
+    }
+
+    @Test
+    void testSearchPrefixExpandsTerms() {
+        // Given
+        index.addAll(List.of(
+                row(1L, "technology trends"),
+                row(2L, "technical writing"),
+                row(3L, "cooking recipes"),
+                row(4L, "tech tech tech")));
+
+        // When
+        List<Long> ranked = index.searchPrefix("TECH", 10);
+
+        // Then
+        assertEquals(3, ranked.size());
+        assertEquals(4L, ranked.get(0));
+        assertFalse(ranked.contains(3L));
+        assertTrue(index.searchPrefix("", 10).isEmpty());
+        assertTrue(index.searchPrefix("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testAddingRowTwiceHasNoEffect() {
+        // Given
+        long beyondInt = Integer.MAX_VALUE + 5L;
+        List<ScrapedData> rows = List.of(row(1L, "blockchain"), row(null, "blockchain"), row(beyondInt, "blockchain"));
+
+        // When
+        index.addAll(rows);
+        index.addAll(rows);
+
+        // Then
+        assertEquals(2, index.documentCount());
+        assertEquals(List.of(1L, beyondInt), index.search(List.of("blockchain"), 10));
+    }
+
+    @Test
+    void testPruningKeepsExhaustiveRanking() {
+        // Given
+        Random random = new Random(7);
+        String[] vocabulary = new String[300];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "term" + i;
+        }
+        List<ScrapedData> rows = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            StringBuilder content = new StringBuilder();
+            int words = 5 + random.nextInt(60);
+            for (int w = 0; w < words; w++) {
+                // Skewed, so low-numbered terms are common and high-numbered ones rare
+                int term = (int) (vocabulary.length * Math.pow(random.nextDouble(), 3));
+                content.append(vocabulary[term]).append(' ');
+            }
+            rows.add(row(id, content.toString()));
+        }
+        index.addAll(rows);
+
+        for (int round = 0; round < 20; round++) {
+            List<String> query = new ArrayList<>();
+            for (int t = 0; t < 2 + random.nextInt(12); t++) {
+                query.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+
+            // When & Then
+            assertEquals(index.searchWithoutPruning(query, 10), index.search(query, 10), "query " + query);
+        }
+    }
+
+    private static ScrapedData row(Long id, String content) {
+        return ScrapedData.builder()
+                .id(id)
+                .content(content)
+                .build();
+    }
+}
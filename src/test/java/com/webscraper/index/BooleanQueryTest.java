@@ -0,0 +1,90 @@
+package com.webscraper.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BooleanQuery.
+ */
+class BooleanQueryTest {
+
+    private Map<String, PostingsList> postings;
+    private List<String> expanded;
+
+    @BeforeEach
+    void setUp() {
+        postings = new HashMap<>();
+        postings.put("block", PostingsList.of(1L, 2L, 3L, 4L, 5L));
+        postings.put("chain", PostingsList.of(2L, 3L, 5L, 8L));
+        postings.put("spam", PostingsList.of(3L, 9L));
+        postings.put("crypto", PostingsList.of(6L, 8L));
+        expanded = new ArrayList<>();
+    }
+
+    @Test
+    void testAndNot() {
+        // When
+        long[] ids = evaluate("block AND chain NOT spam*");
+
+        // Then
+        assertArrayEquals(new long[]{2L, 5L}, ids);
+    }
+
+    @Test
+    void testImplicitAndAndPrecedence() {
+        // When & Then
+        assertArrayEquals(new long[]{2L, 3L, 5L}, evaluate("Block chain"));
+        assertArrayEquals(new long[]{2L, 3L, 5L, 6L, 8L}, evaluate("block chain OR crypto"));
+        assertArrayEquals(new long[]{2L, 3L, 5L, 8L}, evaluate("chain AND (block OR crypto)"));
+        assertArrayEquals(new long[]{6L, 8L}, evaluate("(chain OR crypto) NOT (block OR spam)"));
+        assertEquals(0, evaluate("block AND missing").length);
+    }
+
+    @Test
+    void testExpandsEachPrefixOnce() {
+        // When
+        evaluate("(block AND chain) OR (block AND crypto)");
+
+        // Then
+        assertEquals(List.of("block", "chain", "crypto"), expanded);
+        assertEquals(List.of("block", "chain", "block", "crypto"),
+                BooleanQuery.parse("(block AND chain) OR (block AND crypto)").prefixes());
+    }
+
+    @Test
+    void testRejectsNegationWithoutPositiveClause() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("NOT spam"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("block OR NOT spam"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("NOT spam AND NOT block"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("block NOT NOT spam"));
+    }
+
+    @Test
+    void testRejectsMalformedQueries() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("block AND"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("(block chain"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("block)"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("OR block"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("bl*ck"));
+        assertThrows(IllegalArgumentException.class, () -> BooleanQuery.parse("*"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BooleanQuery.parse("a b c d e f g h i j k l m n o p q"));
+    }
+
+    private long[] evaluate(String query) {
+        return BooleanQuery.parse(query).evaluate(prefix -> {
+            expanded.add(prefix);
+            return postings.getOrDefault(prefix, PostingsList.EMPTY);
+        }).toArray();
+    }
+}
@@ -0,0 +1,126 @@
+package com.webscraper.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Footprint and multi-term intersection speed of compressed postings compared with boxed
+ * {@code List<Long>} and plain {@code long[]} postings, and the cost of growing postings batch
+ * by batch as documents are indexed. Skipped by default; run with
+ * {@code mvn test -Dtest=PostingsListBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PostingsListBenchmarkTest {
+
+    private static final long ROWS = 5_000_000;
+
+    @Test
+    void footprintAndIntersection() {
+        Random random = new Random(23);
+        long[] common = sample(random, 0.5);
+        long[] frequent = sample(random, 0.05);
+        long[] rare = sample(random, 0.0005);
+
+        PostingsList commonList = PostingsList.of(common);
+        PostingsList frequentList = PostingsList.of(frequent);
+        PostingsList rareList = PostingsList.of(rare);
+        report("common (50%)", common.length, commonList);
+        report("frequent (5%)", frequent.length, frequentList);
+        report("rare (0.05%)", rare.length, rareList);
+
+        for (int round = 0; round < 5; round++) {
+            long begin = System.nanoTime();
+            PostingsList threeTerms = PostingsList.intersect(List.of(commonList, frequentList, rareList));
+            long compressed = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            PostingsList twoTerms = PostingsList.intersect(List.of(commonList, frequentList));
+            long dense = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            int merged = mergeIntersect(mergeIntersect(common, frequent), rare).length;
+            long arrays = System.nanoTime() - begin;
+
+            log.info("rare AND frequent AND common: {} hits in {} us (linear merge of long[]: {} hits in {} us)"
+                            + "  frequent AND common: {} hits in {} us",
+                    threeTerms.size(), compressed / 1_000, merged, arrays / 1_000, twoTerms.size(), dense / 1_000);
+        }
+    }
+
+    @Test
+    void appendVersusOrPerBatch() {
+        // A word found in every document, indexed one job of 100 rows at a time
+        int batches = 2_000;
+        int batchSize = 100;
+        PostingsList[] batchLists = new PostingsList[batches];
+        for (int batch = 0; batch < batches; batch++) {
+            long[] ids = new long[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                ids[i] = (long) batch * batchSize * 3 + i * 3L;
+            }
+            batchLists[batch] = PostingsList.of(ids);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long begin = System.nanoTime();
+            PostingsList appended = PostingsList.EMPTY;
+            for (PostingsList batch : batchLists) {
+                appended = appended.append(batch);
+            }
+            long append = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            PostingsList merged = PostingsList.EMPTY;
+            for (PostingsList batch : batchLists) {
+                merged = merged.or(batch);
+            }
+            long or = System.nanoTime() - begin;
+
+            log.info("{} batches of {} ids: append {} ms ({} bytes)  or {} ms ({} bytes)  same ids: {}",
+                    batches, batchSize, append / 1_000_000, appended.sizeInBytes(), or / 1_000_000,
+                    merged.sizeInBytes(), Arrays.equals(appended.toArray(), merged.toArray()));
+        }
+    }
+
+    private static void report(String label, int ids, PostingsList postings) {
+        // A boxed Long is 16 bytes plus a 4-byte compressed reference in the ArrayList
+        log.info("{}: {} ids  compressed {} bytes  long[] {} bytes  List<Long> ~{} bytes",
+                label, ids, postings.sizeInBytes(), 8L * ids, 20L * ids);
+    }
+
+    private static long[] sample(Random random, double density) {
+        long[] ids = new long[(int) (ROWS * density * 1.2) + 16];
+        int count = 0;
+        for (long id = 1; id <= ROWS; id++) {
+            if (random.nextDouble() < density && count < ids.length) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static long[] mergeIntersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,224 @@
+package com.webscraper.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PostingsList.
+ */
+class PostingsListTest {
+
+    @Test
+    void testRoundTripsSparseAndDenseIds() {
+        // Given
+        long[] ids = new long[1000];
+        for (int i = 0; i < 500; i++) {
+            ids[i] = i * 1_000_003L;
+        }
+        for (int i = 500; i < 1000; i++) {
+            ids[i] = 600_000_000L + i;
+        }
+
+        // When
+        PostingsList postings = PostingsList.of(ids);
+
+        // Then
+        assertEquals(1000, postings.size());
+        assertArrayEquals(ids, postings.toArray());
+        assertArrayEquals(new long[]{0L, 1_000_003L}, postings.toArray(2));
+        assertTrue(postings.contains(600_000_999L));
+        assertFalse(postings.contains(600_001_000L));
+        assertFalse(postings.contains(1L));
+    }
+
+    @Test
+    void testDenseRunsCostUnderTwoBitsPerId() {
+        // Given
+        PostingsList.Builder builder = new PostingsList.Builder();
+        for (long id = 1; id <= 100_000; id++) {
+            builder.add(id);
+        }
+
+        // When
+        PostingsList postings = builder.build();
+
+        // Then
+        assertEquals(100_000, postings.size());
+        assertTrue(postings.sizeInBytes() < 100_000 / 4, "size was " + postings.sizeInBytes());
+    }
+
+    @Test
+    void testRejectsUnorderedIds() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> PostingsList.of(5L, 3L));
+        assertThrows(IllegalArgumentException.class, () -> PostingsList.of(5L, 5L));
+        assertThrows(IllegalArgumentException.class, () -> PostingsList.of(-1L));
+    }
+
+    @Test
+    void testCursorAdvanceSkipsBlocks() {
+        // Given
+        long[] ids = new long[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i * 10L;
+        }
+        PostingsList.Cursor cursor = PostingsList.of(ids).cursor();
+
+        // When & Then
+        assertEquals(0L, cursor.next());
+        assertEquals(5000L, cursor.advance(4995L));
+        assertEquals(5000L, cursor.advance(10L));
+        assertEquals(5010L, cursor.next());
+        assertEquals(9990L, cursor.advance(9990L));
+        assertEquals(PostingsList.NO_MORE, cursor.advance(9991L));
+        assertEquals(PostingsList.NO_MORE, cursor.next());
+    }
+
+    @Test
+    void testEmptyList() {
+        // When
+        PostingsList empty = new PostingsList.Builder().build();
+
+        // Then
+        assertSame(PostingsList.EMPTY, empty);
+        assertEquals(PostingsList.NO_MORE, empty.cursor().next());
+        assertEquals(PostingsList.NO_MORE, empty.cursor().advance(3L));
+        assertEquals(0, empty.toArray().length);
+        assertEquals(0, PostingsList.intersect(List.of()).size());
+    }
+
+    @Test
+    void testIntersectAndUnionMatchSetOperations() {
+        // Given
+        Random random = new Random(42);
+        TreeSet<Long> first = randomIds(random, 5000, 20_000);
+        TreeSet<Long> second = randomIds(random, 300, 20_000);
+        TreeSet<Long> third = randomIds(random, 15_000, 20_000);
+        PostingsList a = PostingsList.of(toArray(first));
+        PostingsList b = PostingsList.of(toArray(second));
+        PostingsList c = PostingsList.of(toArray(third));
+
+        TreeSet<Long> expectedIntersection = new TreeSet<>(first);
+        expectedIntersection.retainAll(second);
+        expectedIntersection.retainAll(third);
+        TreeSet<Long> expectedUnion = new TreeSet<>(first);
+        expectedUnion.addAll(second);
+        expectedUnion.addAll(third);
+
+        // When
+        PostingsList intersection = PostingsList.intersect(List.of(a, b, c));
+        PostingsList union = PostingsList.union(List.of(a, b, c));
+
+        // Then
+        assertArrayEquals(toArray(expectedIntersection), intersection.toArray());
+        assertArrayEquals(toArray(expectedUnion), union.toArray());
+        assertArrayEquals(a.toArray(), a.or(PostingsList.EMPTY).toArray());
+        assertEquals(0, a.and(PostingsList.EMPTY).size());
+    }
+
+    @Test
+    void testAndNot() {
+        // Given
+        PostingsList ids = PostingsList.of(1L, 2L, 3L, 500L, 1000L);
+
+        // When
+        PostingsList remaining = ids.andNot(PostingsList.of(2L, 500L, 700L));
+
+        // Then
+        assertArrayEquals(new long[]{1L, 3L, 1000L}, remaining.toArray());
+        assertSame(ids, ids.andNot(PostingsList.EMPTY));
+    }
+
+    @Test
+    void testAppendMatchesBuildingAtOnce() {
+        // Given
+        Random random = new Random(7);
+        List<Long> expected = new ArrayList<>();
+        PostingsList postings = PostingsList.EMPTY;
+        long next = 0;
+
+        // When
+        for (int batch = 0; batch < 200; batch++) {
+            PostingsList.Builder builder = new PostingsList.Builder();
+            int count = 1 + random.nextInt(batch % 10 == 0 ? 400 : 5);
+            for (int i = 0; i < count; i++) {
+                next += 1 + random.nextInt(random.nextBoolean() ? 2 : 300);
+                builder.add(next);
+                expected.add(next);
+            }
+            postings = postings.append(builder.build());
+        }
+
+        // Then
+        long[] ids = expected.stream().mapToLong(Long::longValue).toArray();
+        assertEquals(ids.length, postings.size());
+        assertArrayEquals(ids, postings.toArray());
+        assertArrayEquals(ids, PostingsList.of(ids).toArray());
+        PostingsList.Cursor cursor = postings.cursor();
+        assertEquals(ids[ids.length - 3], cursor.advance(ids[ids.length - 3]));
+        assertEquals(ids[ids.length - 1], cursor.advance(ids[ids.length - 1]));
+        assertEquals(PostingsList.NO_MORE, cursor.next());
+        assertTrue(postings.contains(ids[PostingsList.BLOCK_SIZE]));
+    }
+
+    @Test
+    void testAppendLeavesEarlierListsIntact() {
+        // Given
+        PostingsList base = PostingsList.of(range(1, 200));
+
+        // When
+        PostingsList first = base.append(PostingsList.of(range(300, 700)));
+        PostingsList second = base.append(PostingsList.of(range(250, 260)));
+        PostingsList extended = first.append(PostingsList.of(range(800, 1000)));
+        PostingsList grown = PostingsList.of(1L).append(PostingsList.of(range(2, 300)));
+
+        // Then
+        assertArrayEquals(range(1, 200), base.toArray());
+        assertArrayEquals(concat(range(1, 200), range(300, 700)), first.toArray());
+        assertArrayEquals(concat(range(1, 200), range(250, 260)), second.toArray());
+        assertArrayEquals(concat(concat(range(1, 200), range(300, 700)), range(800, 1000)), extended.toArray());
+        assertArrayEquals(range(1, 300), grown.toArray());
+    }
+
+    @Test
+    void testAppendOfOverlappingIdsMerges() {
+        // Given
+        PostingsList ids = PostingsList.of(1L, 5L, 9L);
+
+        // When
+        PostingsList merged = ids.append(PostingsList.of(5L, 7L, 20L));
+
+        // Then
+        assertArrayEquals(new long[]{1L, 5L, 7L, 9L, 20L}, merged.toArray());
+        assertSame(ids, ids.append(PostingsList.EMPTY));
+    }
+
+    private static long[] range(long from, long to) {
+        return LongStream.rangeClosed(from, to).toArray();
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        return LongStream.concat(Arrays.stream(first), Arrays.stream(second))
+                .toArray();
+    }
+
+    private static TreeSet<Long> randomIds(Random random, int count, int bound) {
+        TreeSet<Long> ids = new TreeSet<>();
+        while (ids.size() < count) {
+            ids.add((long) random.nextInt(bound));
+        }
+        return ids;
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,74 @@
+package com.webscraper.index;
+
+import com.webscraper.entity.ScrapedData;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Infix lookup through the trigram index compared with scanning every row, as
+ * {@code LIKE '%x%'} does. Skipped by default; run with
+ * {@code mvn test -Dtest=TrigramIndexBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrigramIndexBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int WORDS_PER_ROW = 200;
+
+    @Test
+    void infixLookupVersusScan() {
+        Random random = new Random(61);
+        String[] vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+
+        List<ScrapedData> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_ROW; w++) {
+                content.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            rows.add(ScrapedData.builder()
+                    .id((long) i + 1)
+                    .keyword(vocabulary[random.nextInt(vocabulary.length)])
+                    .content(content.toString())
+                    .build());
+        }
+
+        TrigramIndex index = new TrigramIndex();
+        long begin = System.nanoTime();
+        index.addAll(rows);
+        index.markComplete();
+        log.info("trigram index rows={} built in {} ms, grams={}",
+                ROWS, (System.nanoTime() - begin) / 1_000_000, index.gramCount());
+
+        for (int round = 0; round < 3; round++) {
+            String query = vocabulary[round].substring(1);
+            begin = System.nanoTime();
+            long[] candidates = index.candidates(TrigramIndex.Field.CONTENT, query);
+            long lookup = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            long matches = rows.stream().filter(row -> row.getContent().toLowerCase().contains(query)).count();
+            long scan = System.nanoTime() - begin;
+            log.info("content infix '{}': index {} candidates in {} us  scan {} matches in {} ms",
+                    query, candidates.length, lookup / 1_000, matches, scan / 1_000_000);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        int length = 4 + random.nextInt(9);
+        StringBuilder word = new StringBuilder(length);
+        for (int j = 0; j < length; j++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.webscraper.index;
+
+import com.webscraper.entity.ScrapedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrigramIndex.
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.addAll(List.of(
+                row(1L, "technology", "Modern Technology trends"),
+                row(2L, "biotech", "Biotechnology research"),
+                row(3L, "java", "The Java programming language")));
+        index.markComplete();
+    }
+
+    @Test
+    void testCandidatesMatchInfixIgnoringCase() {
+        // When
+        long[] keyword = index.candidates(TrigramIndex.Field.KEYWORD, "TECH");
+        long[] content = index.candidates(TrigramIndex.Field.CONTENT, "technology");
+
+        // Then
+        assertArrayEquals(new long[]{1L, 2L}, keyword);
+        assertArrayEquals(new long[]{1L, 2L}, content);
+        assertArrayEquals(new long[]{3L}, index.candidates(TrigramIndex.Field.CONTENT, "program"));
+        assertArrayEquals(new long[0], index.candidates(TrigramIndex.Field.KEYWORD, "python"));
+    }
+
+    @Test
+    void testCandidatesAreSupersetOfMatches() {
+        // Given - "abcab" holds every gram of "abcabc" without containing it
+        index.addAll(List.of(row(4L, "abcab", null)));
+
+        // When
+        long[] candidates = index.candidates(TrigramIndex.Field.KEYWORD, "abcabc");
+
+        // Then
+        assertArrayEquals(new long[]{4L}, candidates);
+        assertArrayEquals(new long[0], index.candidates(TrigramIndex.Field.KEYWORD, "abcd"));
+    }
+
+    @Test
+    void testOutOfOrderAndRepeatedAdds() {
+        // Given
+        index.addAll(List.of(row(10L, "technical", null), row(5L, "fintech", null), row(10L, "technical", null)));
+
+        // When
+        long[] candidates = index.candidates(TrigramIndex.Field.KEYWORD, "tech");
+
+        // Then
+        assertArrayEquals(new long[]{1L, 2L, 5L, 10L}, candidates);
+    }
+
+    @Test
+    void testCanAnswer() {
+        // Given
+        TrigramIndex building = new TrigramIndex();
+
+        // Then
+        assertTrue(index.canAnswer("jav"));
+        assertFalse(index.canAnswer("ja"));
+        assertFalse(index.canAnswer(null));
+        assertFalse(building.canAnswer("java"));
+    }
+
+    private static ScrapedData row(Long id, String keyword, String content) {
+        return ScrapedData.builder()
+                .id(id)
+                .keyword(keyword)
+                .content(content)
+                .build();
+    }
+}
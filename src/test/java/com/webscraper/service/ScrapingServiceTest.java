@@ -4,9 +4,15 @@ import com.webscraper.dto.*;
 import com.webscraper.entity.ScrapedData;
 import com.webscraper.entity.ScrapingJob;
 import com.webscraper.enums.JobStatus;
+import com.webscraper.enums.SearchMode;
+import com.webscraper.exception.IndexNotReadyException;
+import com.webscraper.exception.InvalidPatternException;
 import com.webscraper.exception.JobNotFoundException;
+import com.webscraper.index.Bm25Index;
+import com.webscraper.index.PostingsList;
 import com.webscraper.repository.ScrapedDataRepository;
 import com.webscraper.repository.ScrapingJobRepository;
+import com.webscraper.trie.SuffixTrie;
 import com.webscraper.trie.Trie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +51,15 @@ class ScrapingServiceTest {
     @Mock
     private Trie trie;
 
+    @Mock
+    private SuffixTrie suffixTrie;
+
+    @Mock
+    private Bm25Index bm25Index;
+
+    @Mock
+    private TrieRehydrationService rehydrationService;
+
     @InjectMocks
     private ScrapingService scrapingService;
 
@@ -81,6 +99,27 @@ class ScrapingServiceTest {
         verify(jobRepository, times(1)).save(any(ScrapingJob.class));
     }
 
+    @Test
+    void testExecuteScraping_IndexesRowsOnlyAfterCommit() {
+        // Given
+        ScrapedData row = ScrapedData.builder().id(1L).jobId("test-job-123").keyword("technology").build();
+        when(jobRepository.findByJobId("test-job-123")).thenReturn(Optional.of(scrapingJob));
+        when(webScraperService.scrapeUrl(anyString(), anyList(), eq("test-job-123"))).thenReturn(List.of(row));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            scrapingService.executeScrapingAsync("test-job-123");
+
+            // Then
+            verify(rehydrationService, never()).indexSaved(anyList());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(rehydrationService).indexSaved(List.of(row, row));
+            assertEquals(JobStatus.COMPLETED, scrapingJob.getStatus());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     void testGetJobStatus_Success() {
         // Given
@@ -119,15 +158,21 @@ class ScrapingServiceTest {
         when(trie.findWordsWithPrefix("tech", 10)).thenReturn(matchingKeywords);
 
         ScrapedData data1 = ScrapedData.builder()
+                .id(1L)
                 .url("https://example.com")
                 .matchedContent("Latest technology trends...")
                 .timestamp(LocalDateTime.now())
                 .build();
+        ScrapedData data2 = ScrapedData.builder()
+                .id(2L)
+                .url("https://example2.com")
+                .matchedContent("A technical overview...")
+                .timestamp(LocalDateTime.now())
+                .build();
 
-        when(dataRepository.findByKeywordContainingIgnoreCase("technology"))
-                .thenReturn(Arrays.asList(data1));
-        when(dataRepository.findByKeywordContainingIgnoreCase("technical"))
-                .thenReturn(Arrays.asList());
+        when(trie.postings("technology", 5)).thenReturn(new long[]{1L});
+        when(trie.postings("technical", 5)).thenReturn(new long[]{1L, 2L});
+        when(dataRepository.findAllById(Set.of(1L, 2L))).thenReturn(Arrays.asList(data2, data1));
 
         // When
         SearchResponse response = scrapingService.search(searchRequest);
@@ -135,8 +180,124 @@ class ScrapingServiceTest {
         // Then
         assertNotNull(response);
         assertEquals("success", response.getStatus());
-        assertFalse(response.getResults().isEmpty());
+        assertEquals(2, response.getResults().size());
+        assertEquals("https://example.com", response.getResults().get(0).getUrl());
+        assertEquals("https://example2.com", response.getResults().get(1).getUrl());
         verify(trie, times(1)).findWordsWithPrefix("tech", 10);
+        verify(dataRepository, times(1)).findAllById(any());
+        verify(dataRepository, never()).findByKeywordContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    void testSearch_RankedByBm25() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("tech")
+                .limit(2)
+                .build();
+
+        when(bm25Index.searchPrefix("tech", 2)).thenReturn(List.of(9L, 4L));
+        ScrapedData data4 = ScrapedData.builder().id(4L).url("https://example.com/4").build();
+        ScrapedData data9 = ScrapedData.builder().id(9L).url("https://example.com/9").build();
+        when(dataRepository.findAllById(Set.of(9L, 4L))).thenReturn(Arrays.asList(data4, data9));
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertEquals(2, response.getResults().size());
+        assertEquals("https://example.com/9", response.getResults().get(0).getUrl());
+        assertEquals("https://example.com/4", response.getResults().get(1).getUrl());
+        verifyNoInteractions(trie);
+    }
+
+    @Test
+    void testSearch_FillsBeyondBm25MatchesFromPostings() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("tech")
+                .limit(3)
+                .build();
+
+        when(bm25Index.searchPrefix("tech", 3)).thenReturn(List.of(9L));
+        when(trie.findWordsWithPrefix("tech", 6)).thenReturn(List.of("technology"));
+        when(trie.postings("technology", 4)).thenReturn(new long[]{2L, 9L, 11L, 15L});
+        ScrapedData data2 = ScrapedData.builder().id(2L).url("https://example.com/2").build();
+        ScrapedData data9 = ScrapedData.builder().id(9L).url("https://example.com/9").build();
+        ScrapedData data11 = ScrapedData.builder().id(11L).url("https://example.com/11").build();
+        when(dataRepository.findAllById(Set.of(9L, 2L, 11L))).thenReturn(Arrays.asList(data2, data9, data11));
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertEquals(List.of("https://example.com/9", "https://example.com/2", "https://example.com/11"),
+                response.getResults().stream().map(SearchResponse.SearchResult::getUrl).toList());
+    }
+
+    @Test
+    void testSearch_ContainsModeListsKeywordMatchesBeforeContentMatches() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("chno")
+                .limit(3)
+                .mode(SearchMode.CONTAINS)
+                .build();
+
+        ScrapedData data1 = ScrapedData.builder().id(1L).url("https://example.com/1").build();
+        ScrapedData data2 = ScrapedData.builder().id(2L).url("https://example.com/2").build();
+        ScrapedData data3 = ScrapedData.builder().id(3L).url("https://example.com/3").build();
+        when(dataRepository.findByKeywordContainingIgnoreCase("chno", 3)).thenReturn(List.of(data2));
+        when(dataRepository.searchByKeyword("chno", 3)).thenReturn(List.of(data1, data2, data3));
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertEquals(List.of("https://example.com/2", "https://example.com/1", "https://example.com/3"),
+                response.getResults().stream().map(SearchResponse.SearchResult::getUrl).toList());
+        verify(dataRepository, never()).findAllById(any());
+        verifyNoInteractions(trie, bm25Index);
+    }
+
+    @Test
+    void testSearch_ContainsModeSkipsContentWhenKeywordMatchesFillLimit() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("chno")
+                .limit(1)
+                .mode(SearchMode.CONTAINS)
+                .build();
+
+        ScrapedData data1 = ScrapedData.builder().id(1L).url("https://example.com/1").build();
+        when(dataRepository.findByKeywordContainingIgnoreCase("chno", 1)).thenReturn(List.of(data1));
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertEquals(1, response.getResults().size());
+        verify(dataRepository, never()).searchByKeyword(anyString(), anyInt());
+    }
+
+    @Test
+    void testSearch_StopsCollectingPostingsAtLimit() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("tech")
+                .limit(2)
+                .build();
+
+        when(trie.findWordsWithPrefix("tech", 4)).thenReturn(Arrays.asList("technology", "technical"));
+        when(trie.postings("technology", 2)).thenReturn(new long[]{3L, 7L});
+        when(dataRepository.findAllById(Set.of(3L, 7L))).thenReturn(Arrays.asList());
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertTrue(response.getResults().isEmpty());
+        verify(trie, never()).postings(eq("technical"), anyInt());
     }
 
     @Test
@@ -156,5 +317,135 @@ class ScrapingServiceTest {
         assertNotNull(response);
         assertEquals("success", response.getStatus());
         assertTrue(response.getResults().isEmpty());
+        verifyNoInteractions(dataRepository);
+    }
+
+    @Test
+    void testSearch_WhileRehydrating() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("tech")
+                .limit(5)
+                .build();
+
+        when(rehydrationService.isRehydrating()).thenReturn(true);
+
+        // When & Then
+        assertThrows(IndexNotReadyException.class, () -> scrapingService.search(searchRequest));
+        verifyNoInteractions(trie);
+    }
+
+    @Test
+    void testSearch_Fuzzy() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("tehc")
+                .limit(5)
+                .fuzzy(true)
+                .maxEdits(2)
+                .build();
+
+        when(trie.findWordsFuzzy("tehc", 2, 10)).thenReturn(Arrays.asList());
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertTrue(response.getResults().isEmpty());
+        verify(trie, never()).findWordsWithPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    void testSearch_Pattern() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("te?h*")
+                .limit(5)
+                .mode(SearchMode.PATTERN)
+                .build();
+
+        when(trie.findWordsMatching("te?h*", 10)).thenReturn(Arrays.asList());
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertTrue(response.getResults().isEmpty());
+        verify(trie, never()).findWordsWithPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    void testSearch_InvalidPattern() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("[a-c")
+                .limit(5)
+                .mode(SearchMode.PATTERN)
+                .build();
+
+        when(trie.findWordsMatching("[a-c", 10))
+                .thenThrow(new IllegalArgumentException("Unterminated character class in pattern: [a-c"));
+
+        // When & Then
+        assertThrows(InvalidPatternException.class, () -> scrapingService.search(searchRequest));
+    }
+
+    @Test
+    void testSearch_BooleanQuery() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("block AND chain NOT spam")
+                .limit(2)
+                .mode(SearchMode.BOOLEAN)
+                .build();
+
+        when(trie.postingsWithPrefix("block")).thenReturn(PostingsList.of(1L, 2L, 3L, 4L, 5L));
+        when(trie.postingsWithPrefix("chain")).thenReturn(PostingsList.of(2L, 3L, 5L));
+        when(trie.postingsWithPrefix("spam")).thenReturn(PostingsList.of(2L));
+        ScrapedData data3 = ScrapedData.builder().id(3L).url("https://example.com/3").build();
+        ScrapedData data5 = ScrapedData.builder().id(5L).url("https://example.com/5").build();
+        when(dataRepository.findAllById(Set.of(3L, 5L))).thenReturn(Arrays.asList(data5, data3));
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertEquals(2, response.getResults().size());
+        assertEquals("https://example.com/3", response.getResults().get(0).getUrl());
+        verify(dataRepository, times(1)).findAllById(any());
+        verify(trie, never()).findWordsWithPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    void testSearch_InvalidBooleanQuery() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("NOT spam")
+                .limit(5)
+                .mode(SearchMode.BOOLEAN)
+                .build();
+
+        // When & Then
+        assertThrows(InvalidPatternException.class, () -> scrapingService.search(searchRequest));
+        verifyNoInteractions(trie, dataRepository);
+    }
+
+    @Test
+    void testSearch_Suffix() {
+        // Given
+        SearchRequest searchRequest = SearchRequest.builder()
+                .prefix("ware")
+                .limit(5)
+                .mode(SearchMode.SUFFIX)
+                .build();
+
+        when(suffixTrie.findWordsWithSuffix("ware", 10)).thenReturn(Arrays.asList());
+
+        // When
+        SearchResponse response = scrapingService.search(searchRequest);
+
+        // Then
+        assertTrue(response.getResults().isEmpty());
+        verify(trie, never()).findWordsWithPrefix(anyString(), anyInt());
     }
 }
@@ -0,0 +1,228 @@
+package com.webscraper.service;
+
+import com.webscraper.entity.ScrapedData;
+import com.webscraper.index.Bm25Index;
+import com.webscraper.index.TrigramIndex;
+import com.webscraper.repository.ScrapedDataRepository;
+import com.webscraper.trie.SuffixTrie;
+import com.webscraper.trie.Trie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TrieRehydrationService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TrieRehydrationServiceTest {
+
+    @Mock
+    private ScrapedDataRepository dataRepository;
+
+    private Trie trie;
+    private SuffixTrie suffixTrie;
+    private TrigramIndex trigramIndex;
+    private Bm25Index bm25Index;
+    private TrieRehydrationService rehydrationService;
+
+    @BeforeEach
+    void setUp() {
+        trie = new Trie();
+        suffixTrie = new SuffixTrie();
+        trigramIndex = new TrigramIndex();
+        bm25Index = new Bm25Index();
+        rehydrationService = new TrieRehydrationService(dataRepository, new KeywordTokenizer(), trie, suffixTrie,
+                trigramIndex, bm25Index);
+        ReflectionTestUtils.setField(rehydrationService, "enabled", true);
+        ReflectionTestUtils.setField(rehydrationService, "batchSize", 2);
+        ReflectionTestUtils.setField(rehydrationService, "threads", 2);
+        ReflectionTestUtils.setField(rehydrationService, "retryDelayMs", 1L);
+        ReflectionTestUtils.setField(rehydrationService, "maxRetryDelayMs", 4L);
+        rehydrationService.markPending();
+    }
+
+    @Test
+    void testRehydrate_IndexesAllBatches() {
+        // Given
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(row(1L, "technology", "Latest technology trends"),
+                        row(2L, "innovation", null)));
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(row(5L, "technology", "AI is a technical field")));
+        assertTrue(rehydrationService.isRehydrating());
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertFalse(rehydrationService.isRehydrating());
+        assertTrue(trie.search("innovation"));
+        assertTrue(trie.search("technical"));
+        assertFalse(trie.search("is"));
+        assertEquals(3, trie.frequency("technology"));
+        assertArrayEquals(new long[]{1L, 5L}, trie.postings("technology", 10));
+        assertArrayEquals(new long[]{5L}, trie.postings("technical", 10));
+        assertEquals(List.of("technology"), suffixTrie.findWordsWithSuffix("ology", 10));
+        assertTrue(trigramIndex.canAnswer("novation"));
+        assertArrayEquals(new long[]{2L}, trigramIndex.candidates(TrigramIndex.Field.KEYWORD, "novation"));
+        assertEquals(3, bm25Index.documentCount());
+        verify(dataRepository, never()).findByIdGreaterThanOrderByIdAsc(eq(5L), any(PageRequest.class));
+    }
+
+    @Test
+    void testRehydrate_OnlyAttachesPostingsForRowsTrieAlreadyCounts() {
+        // Given
+        trie.insertDocuments(Map.of(1L, List.of("technology", "technology")));
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(row(1L, "technology", "Latest technology trends"),
+                        row(2L, "technology", "Newer innovation")));
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertFalse(rehydrationService.isRehydrating());
+        assertEquals(3, trie.frequency("technology"));
+        assertArrayEquals(new long[]{1L, 2L}, trie.postings("technology", 10));
+        assertFalse(trie.search("latest"));
+        assertTrue(trie.search("innovation"));
+        assertEquals(List.of("innovation"), suffixTrie.findWordsWithSuffix("ation", 10));
+        assertArrayEquals(new long[]{1L, 2L}, trie.documents().toArray());
+        assertArrayEquals(new long[]{1L, 2L}, trigramIndex.candidates(TrigramIndex.Field.KEYWORD, "techno"));
+    }
+
+    @Test
+    void testRehydrate_CountsRowsCommittedAfterHigherIds() {
+        // Given
+        trie.insertDocuments(Map.of(5L, List.of("technology")));
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(row(3L, "technology", null), row(5L, "technology", null)));
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertEquals(2, trie.frequency("technology"));
+        assertArrayEquals(new long[]{3L, 5L}, trie.postings("technology", 10));
+        assertArrayEquals(new long[]{3L, 5L}, trie.documents().toArray());
+    }
+
+    @Test
+    void testIndexSaved_CountsRowsSavedDuringRehydrationOnce() {
+        // Given
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(row(3L, "technology", null)));
+        rehydrationService.indexSaved(List.of(row(3L, "technology", null), row(4L, "innovation", null)));
+        assertTrue(rehydrationService.isRehydrating());
+        assertEquals(2, trie.size());
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertFalse(rehydrationService.isRehydrating());
+        assertEquals(1, trie.frequency("technology"));
+        assertEquals(1, trie.frequency("innovation"));
+        assertArrayEquals(new long[]{4L}, trie.postings("innovation", 10));
+        assertEquals(2, bm25Index.documentCount());
+    }
+
+    @Test
+    void testIndexSaved_IndexesImmediatelyAfterRehydration() {
+        // Given
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of());
+        rehydrationService.rehydrate();
+
+        // When
+        rehydrationService.indexSaved(List.of(row(1L, "technology", "Latest technology trends")));
+
+        // Then
+        assertEquals(2, trie.frequency("technology"));
+        assertArrayEquals(new long[]{1L}, trie.postings("technology", 10));
+        assertEquals(List.of("technology"), suffixTrie.findWordsWithSuffix("ology", 10));
+        assertArrayEquals(new long[]{1L}, trigramIndex.candidates(TrigramIndex.Field.KEYWORD, "techno"));
+        assertEquals(1, bm25Index.documentCount());
+    }
+
+    @Test
+    void testRehydrate_KeepsSearchesRejectedUntilAnAttemptSucceeds() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(PageRequest.class)))
+                .thenAnswer(invocation -> {
+                    if (calls.incrementAndGet() <= 4) {
+                        assertTrue(rehydrationService.isRehydrating());
+                        assertFalse(trigramIndex.canAnswer("database"));
+                        throw new IllegalStateException("database unavailable");
+                    }
+                    return List.of();
+                });
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertFalse(rehydrationService.isRehydrating());
+        assertTrue(trigramIndex.canAnswer("database"));
+        verify(dataRepository, times(5)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class));
+    }
+
+    @Test
+    void testRehydrate_StopsRetryingWhenInterrupted() {
+        // Given
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(PageRequest.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        Thread.currentThread().interrupt();
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertTrue(Thread.interrupted());
+        assertTrue(rehydrationService.isRehydrating());
+        assertEquals(0, trie.size());
+        verify(dataRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class));
+    }
+
+    @Test
+    void testRehydrate_RetriesFromRowsAlreadyCounted() {
+        // Given
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(row(1L, "technology", null), row(2L, "technology", null)));
+        when(dataRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(PageRequest.class)))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Arrays.asList(row(3L, "technology", null)));
+
+        // When
+        rehydrationService.rehydrate();
+
+        // Then
+        assertFalse(rehydrationService.isRehydrating());
+        assertEquals(3, trie.frequency("technology"));
+        assertArrayEquals(new long[]{1L, 2L, 3L}, trie.postings("technology", 10));
+        assertEquals(3, bm25Index.documentCount());
+        assertTrue(trigramIndex.canAnswer("technology"));
+    }
+
+    private static ScrapedData row(Long id, String keyword, String matchedContent) {
+        return ScrapedData.builder()
+                .id(id)
+                .keyword(keyword)
+                .matchedContent(matchedContent)
+                .build();
+    }
+}
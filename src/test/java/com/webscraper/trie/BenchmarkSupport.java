@@ -0,0 +1,81 @@
+package com.webscraper.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Word generators and measurements shared by the benchmarks and tests in this package.
+ */
+final class BenchmarkSupport {
+
+    static final int WORDS_PER_RUN = 200_000;
+
+    private BenchmarkSupport() {
+    }
+
+    static String[] randomWords(int count, long seed) {
+        Random random = new Random(seed);
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = 4 + random.nextInt(9);
+            StringBuilder word = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    /**
+     * Random stems combined with common English endings, sorted and de-duplicated.
+     */
+    static List<String> suffixedWords(int count, long seed) {
+        String[] suffixes = {"", "s", "ing", "ed", "er", "ers", "tion", "tions", "ment", "ments", "ness", "ly"};
+        String[] stems = randomWords(count / suffixes.length + 1, seed);
+        TreeSet<String> words = new TreeSet<>();
+        for (String stem : stems) {
+            for (String suffix : suffixes) {
+                words.add(stem + suffix);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    static PrefixIndex build(Supplier<PrefixIndex> factory, String[] words) {
+        PrefixIndex index = factory.get();
+        for (String word : words) {
+            index.insert(word);
+        }
+        return index;
+    }
+
+    /**
+     * @return exact-match lookups per second over every word, all of which must be present
+     */
+    static long searchThroughput(PrefixLookup index, String[] words) {
+        int hits = 0;
+        long begin = System.nanoTime();
+        for (String word : words) {
+            if (index.search(word)) {
+                hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (hits != words.length) {
+            throw new IllegalStateException("Missing words: " + (words.length - hits));
+        }
+        return Math.round(words.length / (elapsed / 1_000_000_000.0));
+    }
+
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
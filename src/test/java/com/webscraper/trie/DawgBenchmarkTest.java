@@ -0,0 +1,39 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+import static com.webscraper.trie.BenchmarkSupport.suffixedWords;
+import static com.webscraper.trie.BenchmarkSupport.usedHeap;
+
+/**
+ * Node count and heap footprint of the Dawg against the Trie it is compiled from.
+ * Skipped by default; run with {@code mvn test -Dtest=DawgBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DawgBenchmarkTest {
+
+    @Test
+    void suffixSharingFootprint() {
+        List<String> words = suffixedWords(1_000_000, 17);
+
+        long before = usedHeap();
+        Trie trie = new Trie();
+        for (String word : words) {
+            trie.insert(word);
+        }
+        long trieBytes = usedHeap() - before;
+        int trieNodes = trie.nodeCount();
+
+        before = usedHeap();
+        Dawg dawg = Dawg.compile(trie);
+        long dawgBytes = usedHeap() - before;
+
+        log.info("suffix corpus words={} Trie nodes={} heap={} MB  Dawg nodes={} heap={} MB",
+                trie.size(), trieNodes, trieBytes >> 20, dawg.nodeCount(), dawgBytes >> 20);
+    }
+}
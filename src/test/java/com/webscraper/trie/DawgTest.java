@@ -0,0 +1,63 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Dawg.
+ */
+class DawgTest {
+
+    @Test
+    void testSharedSuffixesAreMerged() {
+        // Given
+        Trie trie = new Trie();
+        for (String word : List.of("walk", "walking", "walks", "talk", "talking", "talks")) {
+            trie.insert(word);
+        }
+
+        // When
+        Dawg dawg = Dawg.compile(trie);
+
+        // Then
+        assertEquals(6, dawg.size());
+        // {w,t} -> a -> l -> k -> i -> n -> g, with "g" and "s" sharing one final leaf
+        assertEquals(7, dawg.nodeCount());
+        assertTrue(dawg.nodeCount() < trie.nodeCount());
+    }
+
+    @Test
+    void testSearchAndPrefixQueries() {
+        // Given
+        Dawg dawg = Dawg.build(List.of("innovation", "tech", "technical", "technique", "technology"));
+
+        // When & Then
+        assertTrue(dawg.search("tech"));
+        assertTrue(dawg.search("TECHNIQUE"));
+        assertFalse(dawg.search("techn"));
+        assertTrue(dawg.startsWith("inno"));
+        assertFalse(dawg.startsWith("xyz"));
+        assertEquals(List.of("technical", "technique", "technology"), dawg.findWordsWithPrefix("techn"));
+        assertEquals(List.of("tech", "technical"), dawg.findWordsWithPrefix("tech", 2));
+    }
+
+    @Test
+    void testMatchesTrieOnRandomVocabulary() {
+        // Given
+        Trie trie = new Trie();
+        for (String word : BenchmarkSupport.randomWords(3000, 5)) {
+            trie.insert(word);
+        }
+
+        // When
+        Dawg dawg = Dawg.compile(trie);
+
+        // Then
+        assertEquals(trie.size(), dawg.size());
+        assertEquals(trie.findWordsWithPrefix("m"), dawg.findWordsWithPrefix("m"));
+        assertFalse(PrefixIndex.class.isInstance(dawg));
+    }
+}
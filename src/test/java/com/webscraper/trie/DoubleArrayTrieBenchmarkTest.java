@@ -0,0 +1,34 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.build;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+import static com.webscraper.trie.BenchmarkSupport.searchThroughput;
+
+/**
+ * Compile time and lookup throughput of the frozen DoubleArrayTrie against the Trie.
+ * Skipped by default; run with {@code mvn test -Dtest=DoubleArrayTrieBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DoubleArrayTrieBenchmarkTest {
+
+    @Test
+    void lookupThroughput() {
+        String[] words = randomWords(WORDS_PER_RUN, 11);
+        Trie trie = (Trie) build(Trie::new, words);
+        long compileStart = System.nanoTime();
+        DoubleArrayTrie frozen = trie.freeze();
+        log.info("double-array compile={} ms slots={}",
+                (System.nanoTime() - compileStart) / 1_000_000, frozen.capacity());
+
+        for (int round = 0; round < 3; round++) {
+            log.info("search Trie={} ops/s  DoubleArrayTrie={} ops/s",
+                    searchThroughput(trie, words), searchThroughput(frozen, words));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DoubleArrayTrie.
+ */
+class DoubleArrayTrieTest {
+
+    @Test
+    void testCompileFromTrie() {
+        // Given
+        Trie trie = new Trie();
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("tech");
+        trie.insert("innovation");
+
+        // When
+        DoubleArrayTrie frozen = trie.freeze();
+
+        // Then
+        assertEquals(4, frozen.size());
+        assertTrue(frozen.search("tech"));
+        assertTrue(frozen.search("TECHNOLOGY"));
+        assertFalse(frozen.search("techn"));
+        assertFalse(frozen.search("techx"));
+        assertTrue(frozen.startsWith("inno"));
+        assertFalse(frozen.startsWith(""));
+        assertEquals(List.of("tech", "technical", "technology"), frozen.findWordsWithPrefix("tech"));
+        assertEquals(List.of("tech"), frozen.findWordsWithPrefix("tech", 1));
+    }
+
+    @Test
+    void testLargeVocabularyRoundTrip() {
+        // Given
+        Trie trie = new Trie();
+        for (String word : BenchmarkSupport.randomWords(5000, 3)) {
+            trie.insert(word);
+        }
+
+        // When
+        DoubleArrayTrie frozen = DoubleArrayTrie.compile(trie);
+
+        // Then
+        assertEquals(trie.size(), frozen.size());
+        assertEquals(trie.findWordsWithPrefix("ab"), frozen.findWordsWithPrefix("ab"));
+        for (String word : trie.findWordsWithPrefix("q")) {
+            assertTrue(frozen.search(word));
+        }
+    }
+
+    @Test
+    void testEmptyAndImmutable() {
+        // Given
+        DoubleArrayTrie frozen = DoubleArrayTrie.build(List.of());
+
+        // When & Then
+        assertEquals(0, frozen.size());
+        assertFalse(frozen.search("tech"));
+        assertTrue(frozen.findWordsWithPrefix("t").isEmpty());
+        assertFalse(PrefixIndex.class.isInstance(frozen));
+    }
+}
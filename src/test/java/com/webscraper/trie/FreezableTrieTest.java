@@ -0,0 +1,87 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FreezableTrie.
+ */
+class FreezableTrieTest {
+
+    private FreezableTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new FreezableTrie();
+    }
+
+    @Test
+    void testInsertsGoToDeltaUntilFrozen() {
+        // Given
+        trie.insert("technology");
+        trie.insert("innovation");
+        assertEquals(2, trie.deltaSize());
+
+        // When
+        DoubleArrayTrie frozen = trie.freeze();
+
+        // Then
+        assertEquals(2, frozen.size());
+        assertEquals(0, trie.deltaSize());
+        assertTrue(trie.search("technology"));
+    }
+
+    @Test
+    void testSearchesSpanFrozenAndDelta() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technique");
+        trie.freeze();
+
+        // When
+        trie.insert("technical");
+        trie.insert("technology");
+
+        // Then
+        assertEquals(1, trie.deltaSize());
+        assertEquals(3, trie.size());
+        assertEquals(List.of("technical", "technique", "technology"), trie.findWordsWithPrefix("tech"));
+        assertEquals(List.of("technical", "technique"), trie.findWordsWithPrefix("tech", 2));
+        assertTrue(trie.startsWith("technica"));
+    }
+
+    @Test
+    void testRefreezeMergesDelta() {
+        // Given
+        trie.insert("alpha");
+        trie.freeze();
+        trie.insert("beta");
+
+        // When
+        trie.freeze();
+
+        // Then
+        assertEquals(2, trie.size());
+        assertEquals(0, trie.deltaSize());
+        assertTrue(trie.search("alpha"));
+        assertTrue(trie.search("beta"));
+    }
+
+    @Test
+    void testClear() {
+        // Given
+        trie.insert("alpha");
+        trie.freeze();
+
+        // When
+        trie.clear();
+
+        // Then
+        assertEquals(0, trie.size());
+        assertFalse(trie.search("alpha"));
+    }
+}
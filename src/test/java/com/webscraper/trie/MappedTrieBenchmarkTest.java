@@ -0,0 +1,47 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+import static com.webscraper.trie.BenchmarkSupport.searchThroughput;
+import static com.webscraper.trie.BenchmarkSupport.usedHeap;
+
+/**
+ * Heap footprint and lookup throughput of a memory-mapped index against the Trie it was written from.
+ * Skipped by default; run with {@code mvn test -Dtest=MappedTrieBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MappedTrieBenchmarkTest {
+
+    @Test
+    void mappedTrieFootprint() throws Exception {
+        String[] words = randomWords(WORDS_PER_RUN * 5, 37);
+        Path path = Files.createTempFile("trie", ".mapped");
+        long before = usedHeap();
+        Trie trie = new Trie();
+        trie.insertAll(Arrays.asList(words));
+        long trieBytes = usedHeap() - before;
+        MappedTrie.write(trie, path);
+        long trieOps = searchThroughput(trie, words);
+        trie = null;
+
+        before = usedHeap();
+        MappedTrie mapped = MappedTrie.open(path);
+        long mappedBytes = usedHeap() - before;
+
+        log.info("mapped file={} MB  heap: Trie={} MB MappedTrie={} KB",
+                Files.size(path) >> 20, trieBytes >> 20, Math.max(0, mappedBytes) >> 10);
+        for (int round = 0; round < 3; round++) {
+            log.info("search Trie={} ops/s  MappedTrie={} ops/s", trieOps, searchThroughput(mapped, words));
+        }
+        Files.delete(path);
+    }
+}
@@ -0,0 +1,89 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedTrie.
+ */
+class MappedTrieTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testServesWordsFromMappedFile() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        trie.insertAll(List.of("technology", "technical", "tech", "innovation"));
+        Path path = directory.resolve("trie.mapped");
+
+        // When
+        MappedTrie.write(trie, path);
+        MappedTrie mapped = MappedTrie.open(path);
+
+        // Then
+        assertEquals(4, mapped.size());
+        assertTrue(mapped.search("tech"));
+        assertTrue(mapped.search("TECHNOLOGY"));
+        assertFalse(mapped.search("techn"));
+        assertFalse(mapped.search("techx"));
+        assertTrue(mapped.startsWith("inno"));
+        assertFalse(mapped.startsWith(""));
+        assertEquals(List.of("tech", "technical", "technology"), mapped.findWordsWithPrefix("tech"));
+        assertEquals(List.of("tech", "technical"), mapped.findWordsWithPrefix("tech", 2));
+        assertTrue(mapped.findWordsWithPrefix("xyz").isEmpty());
+    }
+
+    @Test
+    void testLargeVocabularyRoundTrip() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        trie.insertAll(Arrays.asList(BenchmarkSupport.randomWords(5000, 5)));
+        Path path = directory.resolve("trie.mapped");
+
+        // When
+        MappedTrie.write(trie, path);
+        MappedTrie mapped = MappedTrie.open(path);
+
+        // Then
+        assertEquals(trie.size(), mapped.size());
+        assertEquals(trie.findWordsInOrder("b", Integer.MAX_VALUE), mapped.findWordsWithPrefix("b"));
+        for (String word : trie.findWordsWithPrefix("m")) {
+            assertTrue(mapped.search(word));
+        }
+    }
+
+    @Test
+    void testEmptyAndReadOnly() throws IOException {
+        // Given
+        Path path = directory.resolve("empty.mapped");
+        MappedTrie.write(new Trie(), path);
+
+        // When
+        MappedTrie mapped = MappedTrie.open(path);
+
+        // Then
+        assertEquals(0, mapped.size());
+        assertFalse(mapped.search("a"));
+        assertFalse(PrefixIndex.class.isInstance(mapped));
+    }
+
+    @Test
+    void testForeignFileIsRejected() throws IOException {
+        // Given
+        Path path = directory.resolve("notes.txt");
+        Files.writeString(path, "this is not a mapped trie");
+
+        // When / Then
+        assertThrows(IOException.class, () -> MappedTrie.open(path));
+    }
+}
@@ -0,0 +1,173 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PrefixMap.
+ */
+class PrefixMapTest {
+
+    private PrefixMap<Integer> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new PrefixMap<>();
+    }
+
+    @Test
+    void testPutAndGet() {
+        // When
+        Integer previous = map.put("Technology", 1);
+        Integer replaced = map.put("technology ", 2);
+        map.put("tech", 3);
+
+        // Then
+        assertNull(previous);
+        assertEquals(1, replaced);
+        assertEquals(2, map.get("TECHNOLOGY"));
+        assertEquals(3, map.get("tech"));
+        assertNull(map.get("techn"));
+        assertFalse(map.containsKey("techn"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testIgnoresBlankKeys() {
+        // When
+        map.put(null, 1);
+        map.put("  ", 1);
+
+        // Then
+        assertEquals(0, map.size());
+        assertNull(map.get(null));
+        assertThrows(NullPointerException.class, () -> map.put("tech", null));
+    }
+
+    @Test
+    void testComputeIfAbsent() {
+        // Given
+        map.put("tech", 5);
+
+        // When
+        Integer existing = map.computeIfAbsent("tech", key -> 1);
+        Integer computed = map.computeIfAbsent("Java", String::length);
+        Integer skipped = map.computeIfAbsent("python", key -> null);
+
+        // Then
+        assertEquals(5, existing);
+        assertEquals(4, computed);
+        assertEquals(4, map.get("java"));
+        assertNull(skipped);
+        assertFalse(map.containsKey("python"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testMerge() {
+        // When
+        map.merge("tech", 1, Integer::sum);
+        map.merge("tech", 1, Integer::sum);
+        map.merge("java", 1, Integer::sum);
+        Integer removed = map.merge("java", 1, (current, value) -> null);
+
+        // Then
+        assertEquals(2, map.get("tech"));
+        assertNull(removed);
+        assertFalse(map.containsKey("java"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testRemoveKeepsDescendants() {
+        // Given
+        map.put("tech", 1);
+        map.put("technology", 2);
+
+        // When
+        Integer removed = map.remove("tech");
+
+        // Then
+        assertEquals(1, removed);
+        assertNull(map.remove("tech"));
+        assertNull(map.remove("missing"));
+        assertEquals(2, map.get("technology"));
+        assertEquals(1, map.countWithPrefix("te"));
+
+        map.remove("technology");
+        assertEquals(0, map.size());
+        assertEquals(0, map.countWithPrefix("t"));
+    }
+
+    @Test
+    void testEntriesWithPrefix() {
+        // Given
+        map.put("technology", 1);
+        map.put("tech", 2);
+        map.put("technical", 3);
+        map.put("innovation", 4);
+
+        // When
+        List<Map.Entry<String, Integer>> entries = map.entriesWithPrefix("Tech", 10);
+
+        // Then
+        assertEquals(List.of(Map.entry("tech", 2), Map.entry("technical", 3), Map.entry("technology", 1)), entries);
+        assertEquals(2, map.entriesWithPrefix("tech", 2).size());
+        assertEquals(4, map.entriesWithPrefix("", 10).size());
+        assertTrue(map.entriesWithPrefix("xyz", 10).isEmpty());
+        assertEquals(3, map.countWithPrefix("tech"));
+    }
+
+    @Test
+    void testForEachWithPrefix() {
+        // Given
+        map.put("java", 1);
+        map.put("javascript", 2);
+        map.put("python", 3);
+
+        // When
+        List<String> keys = new ArrayList<>();
+        map.forEachWithPrefix("jav", (key, value) -> keys.add(key + "=" + value));
+
+        // Then
+        assertEquals(List.of("java=1", "javascript=2"), keys);
+    }
+
+    @Test
+    void testReadsSeeConsistentSnapshotDuringWrites() throws Exception {
+        // Given
+        map.put("technology", 0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 5000; i++) {
+                map.merge("tech" + i, 1, Integer::sum);
+            }
+        });
+        Future<Boolean> reader = executor.submit(() -> {
+            boolean alwaysVisible = true;
+            while (!writer.isDone()) {
+                alwaysVisible &= map.get("technology") != null;
+                alwaysVisible &= map.entriesWithPrefix("technology", 1).size() == 1;
+            }
+            return alwaysVisible;
+        });
+
+        // Then
+        writer.get(30, TimeUnit.SECONDS);
+        assertTrue(reader.get(30, TimeUnit.SECONDS));
+        assertEquals(5001, map.size());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,75 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PrefixSpliterator.
+ */
+class PrefixSpliteratorTest {
+
+    @Test
+    void testExhaustiveSplittingPreservesOrder() {
+        // Given
+        Trie trie = new Trie();
+        List<String> words = List.of("ab", "abc", "abcd", "abd", "abxyz", "b", "ba", "bcd", "c");
+        trie.insertAll(words);
+
+        // When
+        List<String> results = new ArrayList<>();
+        drain(new PrefixSpliterator(trie.root(), ""), results);
+
+        // Then
+        assertEquals(words, results);
+    }
+
+    @Test
+    void testSplitDescendsThroughSingleChildChain() {
+        // Given
+        Trie trie = new Trie();
+        trie.insertAll(List.of("chain-a", "chain-b"));
+        Spliterator<String> spliterator = new PrefixSpliterator(trie.root(), "");
+
+        // When
+        Spliterator<String> prefix = spliterator.trySplit();
+
+        // Then
+        assertNotNull(prefix);
+        assertEquals(1, prefix.estimateSize());
+        assertEquals(1, spliterator.estimateSize());
+        List<String> results = new ArrayList<>();
+        prefix.forEachRemaining(results::add);
+        spliterator.forEachRemaining(results::add);
+        assertEquals(List.of("chain-a", "chain-b"), results);
+    }
+
+    @Test
+    void testNoSplitAfterTraversalStarts() {
+        // Given
+        Trie trie = new Trie();
+        trie.insertAll(List.of("a", "b", "c"));
+        Spliterator<String> spliterator = new PrefixSpliterator(trie.root(), "");
+
+        // When
+        spliterator.tryAdvance(word -> { });
+
+        // Then
+        assertNull(spliterator.trySplit());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+    }
+
+    private static void drain(Spliterator<String> spliterator, List<String> results) {
+        Spliterator<String> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            drain(prefix, results);
+            drain(spliterator, results);
+        } else {
+            spliterator.forEachRemaining(results::add);
+        }
+    }
+}
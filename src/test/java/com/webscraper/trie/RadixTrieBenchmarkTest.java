@@ -0,0 +1,54 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.function.Supplier;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.build;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+import static com.webscraper.trie.BenchmarkSupport.searchThroughput;
+import static com.webscraper.trie.BenchmarkSupport.usedHeap;
+
+/**
+ * Heap footprint and lookup throughput of the path-compressed RadixTrie against the Trie.
+ * Skipped by default; run with {@code mvn test -Dtest=RadixTrieBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RadixTrieBenchmarkTest {
+
+    @Test
+    void heapBytesPerWord() {
+        String[] words = randomWords(WORDS_PER_RUN, 7);
+
+        log.info("heap Trie        bytes/word={}", bytesPerWord(Trie::new, words));
+        log.info("heap RadixTrie   bytes/word={}", bytesPerWord(RadixTrie::new, words));
+    }
+
+    @Test
+    void lookupThroughput() {
+        String[] words = randomWords(WORDS_PER_RUN, 11);
+        PrefixIndex trie = build(Trie::new, words);
+        RadixTrie radix = (RadixTrie) build(RadixTrie::new, words);
+
+        log.info("radix nodes={} for {} words", radix.nodeCount(), radix.size());
+        for (int round = 0; round < 3; round++) {
+            log.info("search Trie={} ops/s  RadixTrie={} ops/s",
+                    searchThroughput(trie, words), searchThroughput(radix, words));
+        }
+    }
+
+    private long bytesPerWord(Supplier<PrefixIndex> factory, String[] words) {
+        long before = usedHeap();
+        PrefixIndex index = factory.get();
+        for (String word : words) {
+            // Fresh instances, like tokens split out of scraped content
+            index.insert(new String(word));
+        }
+        long after = usedHeap();
+        return Math.round((after - before) / (double) index.size());
+    }
+}
@@ -0,0 +1,96 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RadixTrie.
+ */
+class RadixTrieTest {
+
+    private RadixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RadixTrie();
+    }
+
+    @Test
+    void testInsertSplitsEdges() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("tech");
+
+        // When & Then
+        assertTrue(trie.search("technology"));
+        assertTrue(trie.search("technical"));
+        assertTrue(trie.search("tech"));
+        assertFalse(trie.search("techn"));
+        assertFalse(trie.search("technologys"));
+        assertEquals(3, trie.size());
+        // tech -> n -> {ical, ology}
+        assertEquals(4, trie.nodeCount());
+    }
+
+    @Test
+    void testLongUniqueWordIsSingleNode() {
+        // When
+        trie.insert("https-example-com-some-long-identifier");
+
+        // Then
+        assertEquals(1, trie.nodeCount());
+        assertTrue(trie.startsWith("https-exa"));
+    }
+
+    @Test
+    void testStartsWithInsideEdge() {
+        // Given
+        trie.insert("innovation");
+
+        // When & Then
+        assertTrue(trie.startsWith("inno"));
+        assertTrue(trie.startsWith("INNOVATION"));
+        assertFalse(trie.startsWith("innx"));
+        assertFalse(trie.startsWith(""));
+    }
+
+    @Test
+    void testFindWordsWithPrefix() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("technique");
+        trie.insert("innovation");
+
+        // When
+        List<String> results = trie.findWordsWithPrefix("techn");
+
+        // Then
+        assertEquals(List.of("technical", "technique", "technology"), results);
+        assertEquals(List.of("technical", "technique"), trie.findWordsWithPrefix("techni"));
+        assertEquals(2, trie.findWordsWithPrefix("tech", 2).size());
+        assertTrue(trie.findWordsWithPrefix("xyz").isEmpty());
+    }
+
+    @Test
+    void testDuplicateInsertAndClear() {
+        // Given
+        trie.insert("data");
+        trie.insert("Data ");
+
+        // Then
+        assertEquals(1, trie.size());
+
+        // When
+        trie.clear();
+
+        // Then
+        assertEquals(0, trie.size());
+        assertFalse(trie.search("data"));
+    }
+}
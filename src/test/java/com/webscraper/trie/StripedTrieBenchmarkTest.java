@@ -0,0 +1,72 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+
+/**
+ * Concurrent insert throughput of the copy-on-write Trie against the lock-striped StripedTrie.
+ * Skipped by default; run with {@code mvn test -Dtest=StripedTrieBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StripedTrieBenchmarkTest {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    @Test
+    void concurrentInsertThroughput() throws Exception {
+        String[] words = randomWords(WORDS_PER_RUN, 42);
+
+        for (int threads : THREAD_COUNTS) {
+            long trieOps = insertThroughput(Trie::new, words, threads);
+            long stripedOps = insertThroughput(StripedTrie::new, words, threads);
+            log.info("insert threads={} Trie={} ops/s  StripedTrie={} ops/s", threads, trieOps, stripedOps);
+        }
+    }
+
+    private long insertThroughput(Supplier<PrefixIndex> factory, String[] words, int threads)
+            throws Exception {
+        // Warm-up pass so both implementations are measured with compiled code
+        runInserts(factory.get(), words, threads);
+        long elapsed = runInserts(factory.get(), words, threads);
+        return Math.round(words.length / (elapsed / 1_000_000_000.0));
+    }
+
+    private long runInserts(PrefixIndex index, String[] words, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = offset; i < words.length; i += threads) {
+                    index.insert(words[i]);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return elapsed;
+    }
+}
@@ -0,0 +1,99 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StripedTrie.
+ */
+class StripedTrieTest {
+
+    private StripedTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new StripedTrie();
+    }
+
+    @Test
+    void testInsertAndSearchAcrossShards() {
+        // Given
+        trie.insert("technology");
+        trie.insert("Innovation");
+        trie.insert("  data  ");
+
+        // When & Then
+        assertTrue(trie.search("technology"));
+        assertTrue(trie.search("INNOVATION"));
+        assertTrue(trie.search("data"));
+        assertTrue(trie.startsWith("inno"));
+        assertFalse(trie.search("tech"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void testFindWordsWithPrefix() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("innovation");
+
+        // When
+        List<String> results = trie.findWordsWithPrefix("tech");
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.contains("technology"));
+        assertTrue(results.contains("technical"));
+        assertEquals(1, trie.findWordsWithPrefix("tech", 1).size());
+        assertTrue(trie.findWordsWithPrefix("").isEmpty());
+    }
+
+    @Test
+    void testConcurrentInsertsIntoDifferentShards() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (char first = 'a'; first < 'e'; first++) {
+            char leading = first;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    trie.insert(leading + "word" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(4000, trie.size());
+        assertEquals(1000, trie.findWordsWithPrefix("cword").size());
+    }
+
+    @Test
+    void testClear() {
+        // Given
+        trie.insert("technology");
+        trie.insert("innovation");
+
+        // When
+        trie.clear();
+
+        // Then
+        assertEquals(0, trie.size());
+        assertFalse(trie.search("technology"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+
+/**
+ * Suffix lookups through the SuffixTrie against prefix lookups and against filtering every word.
+ * Skipped by default; run with {@code mvn test -Dtest=SuffixTrieBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SuffixTrieBenchmarkTest {
+
+    @Test
+    void suffixQueryLatency() {
+        List<String> words = Arrays.asList(randomWords(WORDS_PER_RUN * 5, 59));
+        Trie trie = new Trie();
+        trie.insertAll(words);
+        SuffixTrie suffixTrie = new SuffixTrie();
+        long begin = System.nanoTime();
+        suffixTrie.insertAll(words);
+        long indexing = System.nanoTime() - begin;
+        begin = System.nanoTime();
+        new SuffixTrie().rebuildFrom(trie);
+        long rebuild = System.nanoTime() - begin;
+        log.info("suffix index {} words: insertAll={} ms  rebuildFrom={} ms",
+                suffixTrie.size(), indexing / 1_000_000, rebuild / 1_000_000);
+
+        int iterations = 10_000;
+        for (int round = 0; round < 3; round++) {
+            begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                trie.findWordsWithPrefix(words.get(i).substring(0, 3), 10);
+            }
+            long prefix = (System.nanoTime() - begin) / iterations;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                String word = words.get(i);
+                suffixTrie.findWordsWithSuffix(word.substring(word.length() - 3), 10);
+            }
+            long suffix = (System.nanoTime() - begin) / iterations;
+
+            begin = System.nanoTime();
+            String ending = words.get(round).substring(words.get(round).length() - 3);
+            long scanned = trie.words().stream().filter(word -> word.endsWith(ending)).limit(10).count();
+            long scan = System.nanoTime() - begin;
+            log.info("limit=10: prefix {} ns  suffix {} ns  enumerate+endsWith {} us ({} hits)",
+                    prefix, suffix, scan / 1_000, scanned);
+        }
+    }
+}
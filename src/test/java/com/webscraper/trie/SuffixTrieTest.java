@@ -0,0 +1,55 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SuffixTrie.
+ */
+class SuffixTrieTest {
+
+    private SuffixTrie suffixTrie;
+
+    @BeforeEach
+    void setUp() {
+        suffixTrie = new SuffixTrie();
+    }
+
+    @Test
+    void testFindWordsWithSuffix() {
+        // Given
+        suffixTrie.insertAll(List.of("software", "hardware", "hardware", "bitcoin", "coin", "warehouse"));
+
+        // When
+        List<String> ware = suffixTrie.findWordsWithSuffix("WARE ", 10);
+        List<String> coin = suffixTrie.findWordsWithSuffix("coin", 10);
+
+        // Then
+        assertEquals(List.of("hardware", "software"), ware);
+        assertEquals(2, coin.size());
+        assertTrue(coin.containsAll(List.of("bitcoin", "coin")));
+        assertTrue(suffixTrie.findWordsWithSuffix("xyz", 10).isEmpty());
+        assertTrue(suffixTrie.findWordsWithSuffix(null, 10).isEmpty());
+        assertEquals(List.of("hardware"), suffixTrie.findWordsWithSuffix("ware", 1));
+    }
+
+    @Test
+    void testRebuildFromKeepsFrequencies() {
+        // Given
+        Trie trie = new Trie();
+        trie.insertAll(List.of("middleware", "firmware", "firmware", "firmware", "cloud"));
+        suffixTrie.insertAll(List.of("stale"));
+
+        // When
+        suffixTrie.rebuildFrom(trie);
+
+        // Then
+        assertEquals(3, suffixTrie.size());
+        assertEquals(List.of("firmware", "middleware"), suffixTrie.findWordsWithSuffix("ware", 10));
+        assertTrue(suffixTrie.findWordsWithSuffix("stale", 10).isEmpty());
+    }
+}
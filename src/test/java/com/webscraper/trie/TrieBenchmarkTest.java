@@ -0,0 +1,113 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.build;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+
+/**
+ * Indexing and query latency of the Trie.
+ * Skipped by default; run with {@code mvn test -Dtest=TrieBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrieBenchmarkTest {
+
+    @Test
+    void boundedPrefixLatency() {
+        Trie small = (Trie) build(Trie::new, randomWords(10_000, 19));
+        Trie large = (Trie) build(Trie::new, randomWords(WORDS_PER_RUN * 5, 19));
+
+        for (int round = 0; round < 3; round++) {
+            log.info("prefix 'a' limit=10: {} words {} ns  {} words {} ns  (unbounded on large: {} ns)",
+                    small.size(), prefixLatency(small, 10), large.size(), prefixLatency(large, 10),
+                    prefixLatency(large, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void bulkInsertThroughput() {
+        List<String> tokens = Arrays.asList(randomWords(WORDS_PER_RUN * 5, 23));
+
+        for (int round = 0; round < 3; round++) {
+            long begin = System.nanoTime();
+            build(Trie::new, tokens.toArray(String[]::new));
+            long single = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            new Trie().insertAll(tokens);
+            long bulk = System.nanoTime() - begin;
+
+            log.info("index {} tokens: insert={} ms  insertAll={} ms",
+                    tokens.size(), single / 1_000_000, bulk / 1_000_000);
+        }
+    }
+
+    @Test
+    void prefixStreamVersusList() {
+        Trie trie = new Trie();
+        trie.insertAll(Arrays.asList(randomWords(WORDS_PER_RUN * 5, 29)));
+
+        for (int round = 0; round < 3; round++) {
+            long begin = System.nanoTime();
+            int listed = trie.findWordsWithPrefix("a").size();
+            long list = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            long streamed = trie.streamWithPrefix("a").count();
+            long stream = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            long parallel = trie.streamWithPrefix("a").parallel().filter(w -> w.endsWith("z")).count();
+            long parallelStream = System.nanoTime() - begin;
+
+            log.info("prefix 'a': list {} words {} ms  stream {} words {} ms  parallel filter {} ms ({} hits)",
+                    listed, list / 1_000_000, streamed, stream / 1_000_000, parallelStream / 1_000_000, parallel);
+        }
+    }
+
+    @Test
+    void fuzzyPrefixLatency() {
+        String[] words = randomWords(WORDS_PER_RUN * 5, 43);
+        Trie trie = new Trie();
+        trie.insertAll(Arrays.asList(words));
+        Random random = new Random(47);
+        String[] queries = new String[1_000];
+        for (int i = 0; i < queries.length; i++) {
+            // Four-letter prefixes of indexed words with one character replaced
+            char[] query = words[random.nextInt(words.length)].substring(0, 4).toCharArray();
+            query[random.nextInt(query.length)] = (char) ('a' + random.nextInt(26));
+            queries[i] = new String(query);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+                long[] latencies = new long[queries.length];
+                for (int i = 0; i < queries.length; i++) {
+                    long begin = System.nanoTime();
+                    trie.findWordsFuzzy(queries[i], maxEdits, 10);
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                Arrays.sort(latencies);
+                log.info("fuzzy {} words maxEdits={}: p50={} us  p99={} us", trie.size(), maxEdits,
+                        latencies[latencies.length / 2] / 1_000, latencies[latencies.length * 99 / 100] / 1_000);
+            }
+        }
+    }
+
+    private long prefixLatency(Trie trie, int limit) {
+        int iterations = 200;
+        long begin = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            trie.findWordsWithPrefix("a", limit);
+        }
+        return (System.nanoTime() - begin) / iterations;
+    }
+}
@@ -0,0 +1,129 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrieNode child storage layouts.
+ */
+class TrieNodeTest {
+
+    @Test
+    void testInlineChildrenStaySorted() {
+        // Given
+        TrieNode node = new TrieNode();
+        TrieNode b = new TrieNode();
+        TrieNode a = new TrieNode();
+
+        // When
+        node.addChild('b', b);
+        node.addChild('a', a);
+
+        // Then
+        assertEquals(2, node.childCount());
+        assertEquals('a', node.keyAt(0));
+        assertSame(a, node.childAt(0));
+        assertSame(b, node.getChild('b'));
+        assertFalse(node.hasChild('c'));
+    }
+
+    @Test
+    void testSortedArrayLayout() {
+        // Given
+        TrieNode node = new TrieNode();
+
+        // When
+        for (char c : "zyxwv".toCharArray()) {
+            node.addChild(c, new TrieNode());
+        }
+
+        // Then
+        assertEquals(5, node.childCount());
+        for (int i = 1; i < node.childCount(); i++) {
+            assertTrue(node.keyAt(i - 1) < node.keyAt(i));
+        }
+        assertTrue(node.hasChild('x'));
+        assertFalse(node.hasChild('a'));
+    }
+
+    @Test
+    void testDirectTableLayoutAndReplace() {
+        // Given
+        TrieNode node = new TrieNode();
+        for (char c = 'a'; c <= 'z'; c++) {
+            node.addChild(c, new TrieNode());
+        }
+        TrieNode replacement = new TrieNode();
+
+        // When
+        node.addChild('m', replacement);
+        node.addChild('é', new TrieNode());
+
+        // Then
+        assertEquals(27, node.childCount());
+        assertSame(replacement, node.getChild('m'));
+        assertTrue(node.hasChild('é'));
+        assertNull(node.getChild('A'));
+    }
+
+    @Test
+    void testCopyIsIndependentOfOriginal() {
+        // Given
+        TrieNode original = new TrieNode();
+        for (char c = 'a'; c <= 'e'; c++) {
+            original.addChild(c, new TrieNode());
+        }
+
+        // When
+        TrieNode copy = original.copy();
+        copy.addChild('f', new TrieNode());
+        copy.addChild('a', new TrieNode());
+
+        // Then
+        assertEquals(5, original.childCount());
+        assertEquals(6, copy.childCount());
+        assertNotSame(original.getChild('a'), copy.getChild('a'));
+        assertSame(original.getChild('b'), copy.getChild('b'));
+    }
+
+    @Test
+    void testCompletionOfferKeepsRankingBounded() {
+        // Given
+        TrieNode.Completion[] ranking = new TrieNode.Completion[0];
+
+        // When
+        ranking = TrieNode.Completion.offer(ranking, new TrieNode.Completion("beta", 1), 2);
+        ranking = TrieNode.Completion.offer(ranking, new TrieNode.Completion("alpha", 1), 2);
+        TrieNode.Completion[] unchanged = TrieNode.Completion.offer(ranking, new TrieNode.Completion("gamma", 1), 2);
+        ranking = TrieNode.Completion.offer(ranking, new TrieNode.Completion("beta", 2), 2);
+
+        // Then
+        assertEquals(2, ranking.length);
+        assertEquals("beta", ranking[0].word());
+        assertEquals(2, ranking[0].frequency());
+        assertEquals("alpha", ranking[1].word());
+        assertEquals("alpha", unchanged[0].word());
+        assertEquals("beta", unchanged[1].word());
+    }
+
+    @Test
+    void testRemoveChildRepacksLayout() {
+        // Given
+        TrieNode node = new TrieNode();
+        for (char c = 'a'; c <= 'z'; c++) {
+            node.addChild(c, new TrieNode());
+        }
+
+        // When
+        for (char c = 'a'; c <= 'x'; c++) {
+            node.removeChild(c);
+        }
+
+        // Then
+        assertEquals(2, node.childCount());
+        assertEquals('y', node.keyAt(0));
+        assertTrue(node.hasChild('z'));
+        assertFalse(node.hasChild('a'));
+    }
+}
@@ -0,0 +1,43 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+
+/**
+ * Snapshot size, write time and restore time.
+ * Skipped by default; run with {@code mvn test -Dtest=TrieSnapshotBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrieSnapshotBenchmarkTest {
+
+    @Test
+    void snapshotRestartTime() throws Exception {
+        int count = Integer.getInteger("snapshot.words", 2_000_000);
+        Trie trie = new Trie();
+        trie.insertAll(Arrays.asList(randomWords(count, 31)));
+        Path path = Files.createTempFile("trie", ".snapshot");
+
+        for (int round = 0; round < 3; round++) {
+            long begin = System.nanoTime();
+            TrieSnapshot.write(trie, path);
+            long write = System.nanoTime() - begin;
+
+            Trie restored = new Trie();
+            begin = System.nanoTime();
+            TrieSnapshot.restore(restored, path);
+            long restore = System.nanoTime() - begin;
+
+            log.info("snapshot {} words: {} MB written in {} ms, restored in {} ms",
+                    restored.size(), Files.size(path) >> 20, write / 1_000_000, restore / 1_000_000);
+        }
+        Files.delete(path);
+    }
+}
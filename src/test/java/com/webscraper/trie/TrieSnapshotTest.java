@@ -0,0 +1,141 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrieSnapshot.
+ */
+class TrieSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripPreservesWordsAndFrequencies() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            words.add("w" + Integer.toString(i * 31, 36) + (i % 5 == 0 ? "é" : ""));
+        }
+        trie.insertAll(words);
+        trie.insert("technology");
+        trie.insert("technology");
+        trie.insert("technique");
+        Path path = directory.resolve("trie.snapshot");
+
+        // When
+        TrieSnapshot.write(trie, path);
+        Trie restored = new Trie();
+        restored.insert("stale");
+        TrieSnapshot.restore(restored, path);
+
+        // Then
+        assertEquals(trie.size(), restored.size());
+        assertEquals(trie.words(), restored.words());
+        assertFalse(restored.search("stale"));
+        assertEquals(2, restored.frequency("technology"));
+        assertEquals(List.of("technology", "technique"), restored.findWordsWithPrefix("tech"));
+        assertEquals(trie.countWithPrefix("w1"), restored.countWithPrefix("w1"));
+        assertEquals(trie.findWordsWithPrefix("w", 10), restored.findWordsWithPrefix("w", 10));
+
+        // Restored tries accept further inserts
+        restored.insert("technique");
+        restored.insert("technique");
+        assertEquals("technique", restored.findWordsWithPrefix("tech", 1).get(0));
+    }
+
+    @Test
+    void testEmptyTrieRoundTrip() throws IOException {
+        // Given
+        Path path = directory.resolve("nested/empty.snapshot");
+
+        // When
+        TrieSnapshot.write(new Trie(), path);
+        Trie restored = new Trie();
+        TrieSnapshot.restore(restored, path);
+
+        // Then
+        assertEquals(0, restored.size());
+        assertTrue(restored.findWordsWithPrefix("a").isEmpty());
+    }
+
+    @Test
+    void testRoundTripPreservesCountedDocuments() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        trie.insertDocuments(Map.of(3L, List.of("alpha"), 42L, List.of("alpha", "beta")));
+        Path path = directory.resolve("trie.snapshot");
+
+        // When
+        TrieSnapshot.write(trie, path);
+        Trie restored = new Trie();
+        TrieSnapshot.restore(restored, path);
+
+        // Then
+        assertArrayEquals(new long[]{3L, 42L}, restored.documents().toArray());
+        assertEquals(2, restored.frequency("alpha"));
+    }
+
+    @Test
+    void testVersion2SnapshotLeavesCountedDocumentsUnknown() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        trie.insert("alpha");
+        Path path = directory.resolve("trie.snapshot");
+        TrieSnapshot.write(trie, path);
+        byte[] current = Files.readAllBytes(path);
+        byte[] version2 = new byte[current.length - 4];
+        System.arraycopy(current, 0, version2, 0, 13);
+        System.arraycopy(current, 17, version2, 13, current.length - 17);
+        version2[4] = 2;
+        Files.write(path, version2);
+
+        // When
+        Trie restored = new Trie();
+        TrieSnapshot.restore(restored, path);
+
+        // Then
+        assertNull(restored.documents());
+        assertEquals(1, restored.frequency("alpha"));
+    }
+
+    @Test
+    void testCorruptedSnapshotIsRejected() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        trie.insertAll(List.of("alpha", "beta", "gamma"));
+        Path path = directory.resolve("trie.snapshot");
+        TrieSnapshot.write(trie, path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(path, bytes);
+        Trie target = new Trie();
+        target.insert("kept");
+
+        // When / Then
+        assertThrows(IOException.class, () -> TrieSnapshot.restore(target, path));
+        assertTrue(target.search("kept"));
+    }
+
+    @Test
+    void testForeignFileIsRejected() throws IOException {
+        // Given
+        Path path = directory.resolve("notes.txt");
+        Files.writeString(path, "this is not a trie snapshot");
+
+        // When / Then
+        IOException error = assertThrows(IOException.class, () -> TrieSnapshot.restore(new Trie(), path));
+        assertTrue(error.getMessage().startsWith("Not a trie snapshot"));
+    }
+}
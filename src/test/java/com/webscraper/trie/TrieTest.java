@@ -3,7 +3,14 @@ package com.webscraper.trie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -155,4 +162,419 @@ class TrieTest {
         // Then
         assertTrue(results.isEmpty());
     }
+
+    @Test
+    void testReadsSeeConsistentSnapshotDuringInserts() throws Exception {
+        // Given
+        trie.insert("technology");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 5000; i++) {
+                trie.insert("tech" + i);
+            }
+        });
+        Future<Boolean> reader = executor.submit(() -> {
+            boolean alwaysVisible = true;
+            while (!writer.isDone()) {
+                alwaysVisible &= trie.search("technology");
+                alwaysVisible &= trie.findWordsWithPrefix("tech").contains("technology");
+            }
+            return alwaysVisible;
+        });
+
+        // Then
+        writer.get(30, TimeUnit.SECONDS);
+        assertTrue(reader.get(30, TimeUnit.SECONDS));
+        assertEquals(5001, trie.size());
+        executor.shutdown();
+    }
+
+    @Test
+    void testFindWordsWithPrefixLimitReturnsFirstWordsInOrder() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("tech");
+        trie.insert("technique");
+
+        // When
+        List<String> results = trie.findWordsWithPrefix("tech", 3);
+
+        // Then
+        assertEquals(List.of("tech", "technical", "technique"), results);
+        assertTrue(trie.findWordsWithPrefix("tech", 0).isEmpty());
+    }
+
+    @Test
+    void testDeepChainDoesNotOverflowStack() {
+        // Given
+        String longWord = "a".repeat(100_000);
+        trie.insert(longWord);
+        trie.insert("ab");
+
+        // When
+        List<String> results = trie.findWordsWithPrefix("a");
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.contains(longWord));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void testFrequencyRankedCompletions() {
+        // Given
+        trie.insert("technical");
+        trie.insert("technology");
+        trie.insert("technology");
+        trie.insert("technique");
+        trie.insert("technique");
+        trie.insert("technique");
+
+        // When
+        List<String> results = trie.findWordsWithPrefix("tech", 2);
+
+        // Then
+        assertEquals(List.of("technique", "technology"), results);
+        assertEquals(3, trie.frequency("TECHNIQUE"));
+        assertEquals(0, trie.frequency("tech"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void testRankingBeyondCachedTopK() {
+        // Given
+        for (int i = 0; i < TrieNode.TOP_K + 10; i++) {
+            trie.insert(String.format("word%03d", i));
+        }
+        trie.insert("word041");
+
+        // When
+        List<String> results = trie.findWordsWithPrefix("word", TrieNode.TOP_K + 10);
+
+        // Then
+        assertEquals(TrieNode.TOP_K + 10, results.size());
+        assertEquals("word041", results.get(0));
+        assertEquals(TrieNode.TOP_K + 10, results.stream().distinct().count());
+    }
+
+    @Test
+    void testCountWithPrefix() {
+        // Given
+        trie.insert("tech");
+        trie.insert("technology");
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("innovation");
+
+        // When & Then
+        assertEquals(3, trie.countWithPrefix("tech"));
+        assertEquals(2, trie.countWithPrefix("techn"));
+        assertEquals(1, trie.countWithPrefix("INNO"));
+        assertEquals(0, trie.countWithPrefix("xyz"));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void testDelete() {
+        // Given
+        trie.insert("tech");
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("technical");
+
+        // When
+        boolean deleted = trie.delete("Technical");
+
+        // Then
+        assertTrue(deleted);
+        assertFalse(trie.search("technical"));
+        assertFalse(trie.startsWith("technic"));
+        assertEquals(0, trie.frequency("technical"));
+        assertEquals(2, trie.size());
+        assertEquals(1, trie.countWithPrefix("techn"));
+        assertEquals(List.of("tech", "technology"), trie.findWordsWithPrefix("tech", 5));
+        assertFalse(trie.delete("technical"));
+        assertFalse(trie.delete("tec"));
+    }
+
+    @Test
+    void testDeletePrefixWordKeepsDescendants() {
+        // Given
+        trie.insert("tech");
+        trie.insert("technology");
+
+        // When
+        trie.delete("tech");
+
+        // Then
+        assertFalse(trie.search("tech"));
+        assertTrue(trie.search("technology"));
+        assertEquals(1, trie.countWithPrefix("tech"));
+        assertEquals(List.of("technology"), trie.findWordsWithPrefix("te"));
+    }
+
+    @Test
+    void testInsertAllMatchesSingleInserts() {
+        // Given
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            batch.add(String.format(" Word%03d ", i % 700));
+            batch.add(i % 3 == 0 ? "zeta" + (i % 50) : "alpha" + (i % 90));
+        }
+        batch.add(null);
+        batch.add("   ");
+        Trie expected = new Trie();
+        batch.forEach(expected::insert);
+
+        // When
+        trie.insertAll(batch);
+
+        // Then
+        assertEquals(expected.size(), trie.size());
+        assertEquals(expected.words(), trie.words());
+        assertEquals(expected.findWordsWithPrefix("w", 50), trie.findWordsWithPrefix("w", 50));
+        assertEquals(expected.findWordsWithPrefix("alpha"), trie.findWordsWithPrefix("alpha"));
+        assertEquals(expected.countWithPrefix("word1"), trie.countWithPrefix("word1"));
+        assertEquals(expected.frequency("zeta0"), trie.frequency("zeta0"));
+    }
+
+    @Test
+    void testInsertAllMergesWithExistingWords() {
+        // Given
+        trie.insert("tech");
+        trie.insert("technology");
+        trie.insert("java");
+
+        // When
+        trie.insertAll(List.of("technology", "technique", "technique", "python", "Tech"));
+
+        // Then
+        assertEquals(5, trie.size());
+        assertEquals(2, trie.frequency("technology"));
+        assertEquals(2, trie.frequency("tech"));
+        assertEquals(3, trie.countWithPrefix("tech"));
+        assertEquals(List.of("tech", "technique", "technology"), trie.findWordsWithPrefix("tech"));
+        assertTrue(trie.search("java"));
+        assertTrue(trie.search("python"));
+    }
+
+    @Test
+    void testInsertDocumentsRecordsPostings() {
+        // When
+        trie.insertDocuments(Map.of(
+                7L, List.of("technology", "Technology", "java"),
+                3L, List.of("technology")));
+        trie.insertDocuments(Map.of(5L, List.of("technology", "python")));
+
+        // Then
+        assertEquals(4, trie.frequency("technology"));
+        assertArrayEquals(new long[]{3L, 5L, 7L}, trie.postings("technology", 10));
+        assertArrayEquals(new long[]{3L, 5L}, trie.postings("technology", 2));
+        assertArrayEquals(new long[]{7L}, trie.postings("java", 10));
+        assertEquals(0, trie.postings("tech", 10).length);
+        assertEquals(0, trie.postings("missing", 10).length);
+    }
+
+    @Test
+    void testInsertDocumentsCountsEachDocumentOnce() {
+        // Given
+        trie.insertDocuments(Map.of(9L, List.of("technology")));
+
+        // When
+        Set<Long> counted = trie.insertDocuments(Map.of(
+                4L, List.of("technology"),
+                9L, List.of("technology", "java")));
+
+        // Then
+        assertEquals(Set.of(4L), counted);
+        assertEquals(2, trie.frequency("technology"));
+        assertFalse(trie.search("java"));
+        assertArrayEquals(new long[]{4L, 9L}, trie.postings("technology", 10));
+        assertArrayEquals(new long[]{4L, 9L}, trie.documents().toArray());
+    }
+
+    @Test
+    void testPostingsWithPrefixUnionsSubtree() {
+        // Given
+        trie.insertDocuments(Map.of(
+                1L, List.of("blockchain", "java"),
+                2L, List.of("blocks"),
+                3L, List.of("block", "blockchain")));
+
+        // When & Then
+        assertArrayEquals(new long[]{1L, 2L, 3L}, trie.postingsWithPrefix("Block").toArray());
+        assertArrayEquals(new long[]{1L, 3L}, trie.postingsWithPrefix("blockc").toArray());
+        assertTrue(trie.postingsWithPrefix("python").isEmpty());
+        assertTrue(trie.postingsWithPrefix("").isEmpty());
+    }
+
+    @Test
+    void testAttachPostingsKeepsFrequencies() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technology");
+
+        // When
+        trie.attachPostings(Map.of(1L, List.of("technology", "java"), 2L, List.of("technology")));
+
+        // Then
+        assertEquals(2, trie.frequency("technology"));
+        assertArrayEquals(new long[]{1L, 2L}, trie.postings("technology", 10));
+        assertFalse(trie.search("java"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testDeleteClearsPostings() {
+        // Given
+        trie.insertDocuments(Map.of(1L, List.of("technology")));
+
+        // When
+        trie.delete("technology");
+        trie.insert("technology");
+
+        // Then
+        assertEquals(0, trie.postings("technology", 10).length);
+    }
+
+    @Test
+    void testStreamWithPrefix() {
+        // Given
+        trie.insert("technical");
+        trie.insert("tech");
+        trie.insert("technology");
+        trie.insert("technology");
+        trie.insert("teacher");
+        trie.insert("java");
+
+        // When
+        List<String> all = trie.streamWithPrefix("TE").toList();
+        List<String> firstTwo = trie.streamWithPrefix("tech").limit(2).toList();
+
+        // Then
+        assertEquals(List.of("teacher", "tech", "technical", "technology"), all);
+        assertEquals(List.of("tech", "technical"), firstTwo);
+        assertEquals(0, trie.streamWithPrefix("xyz").count());
+        assertEquals(0, trie.streamWithPrefix(null).count());
+    }
+
+    @Test
+    void testParallelStreamWithPrefixMatchesSequentialOrder() {
+        // Given
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            words.add("s" + Integer.toString(i * 7919, 36));
+        }
+        trie.insertAll(words);
+        trie.insert("s");
+
+        // When
+        List<String> parallel = trie.streamWithPrefix("s").parallel().toList();
+
+        // Then
+        assertEquals(trie.findWordsInOrder("s", Integer.MAX_VALUE), parallel);
+        assertEquals(trie.countWithPrefix("s"), parallel.size());
+        assertEquals(trie.countWithPrefix("s"), trie.streamWithPrefix("s").spliterator().estimateSize());
+    }
+
+    @Test
+    void testFindWordsFuzzy() {
+        // Given
+        trie.insert("technology");
+        trie.insert("technical");
+        trie.insert("technical");
+        trie.insert("teaching");
+        trie.insert("java");
+
+        // When
+        List<String> oneTypo = trie.findWordsFuzzy("Tecjn", 1, 10);
+        List<String> swapped = trie.findWordsFuzzy("tehcn", 2, 10);
+        List<String> exact = trie.findWordsFuzzy("techn", 1, 10);
+
+        // Then
+        assertEquals(List.of("technical", "technology"), oneTypo);
+        assertEquals(List.of("technical", "teaching", "technology"), swapped);
+        assertEquals(List.of("technical", "technology"), exact);
+        assertTrue(trie.findWordsFuzzy("xyzzy", 1, 10).isEmpty());
+        assertTrue(trie.findWordsFuzzy("", 1, 10).isEmpty());
+    }
+
+    @Test
+    void testFindWordsFuzzyRanksByDistanceThenFrequency() {
+        // Given
+        trie.insert("cart");
+        trie.insert("card");
+        trie.insert("card");
+        trie.insert("cat");
+
+        // When
+        List<String> results = trie.findWordsFuzzy("cart", 1, 10);
+
+        // Then
+        assertEquals(List.of("cart", "card", "cat"), results);
+        assertEquals(List.of("cart"), trie.findWordsFuzzy("cart", 0, 10));
+    }
+
+    @Test
+    void testFindWordsFuzzyBeyondCachedRankings() {
+        // Given
+        for (int i = 0; i < TrieNode.TOP_K + 5; i++) {
+            trie.insert(String.format("beta%03d", i));
+        }
+
+        // When
+        List<String> results = trie.findWordsFuzzy("bets", 1, 100);
+
+        // Then
+        assertEquals(TrieNode.TOP_K + 5, results.size());
+        assertEquals(TrieNode.TOP_K + 5, results.stream().distinct().count());
+    }
+
+    @Test
+    void testFindWordsMatching() {
+        // Given
+        trie.insertAll(List.of("tech", "teach", "technology", "content", "bontent", "dontent", "java"));
+
+        // When
+        List<String> wildcard = trie.findWordsMatching("te?h*", 10);
+        List<String> charClass = trie.findWordsMatching("[a-c]ontent", 10);
+        List<String> negated = trie.findWordsMatching("[^a-c]ontent", 10);
+
+        // Then
+        assertEquals(List.of("tech", "technology"), wildcard);
+        assertEquals(List.of("bontent", "content"), charClass);
+        assertEquals(List.of("dontent"), negated);
+        assertEquals(List.of("java"), trie.findWordsMatching("JAVA", 10));
+        assertEquals(List.of("teach", "tech"), trie.findWordsMatching("te*h", 10));
+        assertTrue(trie.findWordsMatching("te?", 10).isEmpty());
+    }
+
+    @Test
+    void testFindWordsMatchingRespectsLimitAndOrder() {
+        // Given
+        trie.insertAll(List.of("delta", "alpha", "gamma", "beta"));
+
+        // When
+        List<String> all = trie.findWordsMatching("*", 10);
+        List<String> limited = trie.findWordsMatching("*a", 2);
+
+        // Then
+        assertEquals(List.of("alpha", "beta", "delta", "gamma"), all);
+        assertEquals(List.of("alpha", "beta"), limited);
+        assertTrue(trie.findWordsMatching("", 10).isEmpty());
+        assertTrue(trie.findWordsMatching("*", 0).isEmpty());
+    }
+
+    @Test
+    void testFindWordsMatchingRejectsMalformedPattern() {
+        // Given
+        trie.insert("content");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> trie.findWordsMatching("[a-c", 10));
+        assertThrows(IllegalArgumentException.class, () -> trie.findWordsMatching("[]x", 10));
+    }
 }
@@ -0,0 +1,57 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+
+/**
+ * Insert overhead of logging every mutation to the write-ahead log.
+ * Skipped by default; run with {@code mvn test -Dtest=TrieWriteAheadLogBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrieWriteAheadLogBenchmarkTest {
+
+    @Test
+    void writeAheadLogOverhead() throws Exception {
+        String[] words = randomWords(WORDS_PER_RUN, 41);
+        Path directory = Files.createTempDirectory("trie-wal");
+        long totalWithout = 0;
+        long totalWith = 0;
+
+        for (int round = 0; round < 10; round++) {
+            Trie plain = new Trie();
+            long begin = System.nanoTime();
+            for (String word : words) {
+                plain.insert(word);
+            }
+            long withoutLog = System.nanoTime() - begin;
+
+            Trie logged = new Trie();
+            TrieWriteAheadLog writeAheadLog = TrieWriteAheadLog.open(directory, 200);
+            logged.setMutationListener(writeAheadLog);
+            begin = System.nanoTime();
+            for (String word : words) {
+                logged.insert(word);
+            }
+            writeAheadLog.sync();
+            long withLog = System.nanoTime() - begin;
+            writeAheadLog.close();
+
+            log.info("insert {} words: no log={} ms  log={} ms",
+                    words.length, withoutLog / 1_000_000, withLog / 1_000_000);
+            if (round >= 3) {
+                totalWithout += withoutLog;
+                totalWith += withLog;
+            }
+        }
+        log.info("write-ahead log overhead after warm-up: {}%",
+                String.format("%.1f", 100.0 * (totalWith - totalWithout) / totalWithout));
+    }
+}
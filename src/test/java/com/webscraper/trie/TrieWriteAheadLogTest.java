@@ -0,0 +1,191 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrieWriteAheadLog.
+ */
+class TrieWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReplayRestoresMutationsInOrder() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory, 60_000);
+        trie.setMutationListener(log);
+        trie.insert("Technology");
+        trie.insertAll(List.of("technique", "technique", "java"));
+        trie.delete("java");
+        trie.insert("python");
+        log.close();
+
+        // When
+        Trie recovered = new Trie();
+        long applied = TrieWriteAheadLog.replay(directory, 0, recovered);
+
+        // Then
+        assertEquals(5, applied);
+        assertEquals(trie.words(), recovered.words());
+        assertEquals(2, recovered.frequency("technique"));
+        assertFalse(recovered.search("java"));
+    }
+
+    @Test
+    void testReplayAppliesClear() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory, 60_000);
+        trie.setMutationListener(log);
+        trie.insert("before");
+        trie.clear();
+        trie.insert("after");
+        log.close();
+
+        // When
+        Trie recovered = new Trie();
+        TrieWriteAheadLog.replay(directory, 0, recovered);
+
+        // Then
+        assertEquals(List.of("after"), recovered.words());
+    }
+
+    @Test
+    void testReplayRestoresCountedDocuments() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory, 60_000);
+        trie.setMutationListener(log);
+        trie.insertDocuments(Map.of(1L, List.of("alpha"), 300L, List.of("beta")));
+        trie.insert("gamma");
+        trie.attachPostings(Map.of(900L, List.of("alpha")));
+        log.close();
+
+        // When
+        Trie recovered = new Trie();
+        TrieWriteAheadLog.replay(directory, 0, recovered);
+
+        // Then
+        assertArrayEquals(new long[]{1L, 300L}, recovered.documents().toArray());
+        assertEquals(trie.words(), recovered.words());
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory, 60_000);
+        trie.setMutationListener(log);
+        trie.insert("durable");
+        log.sync();
+        trie.insert("torn");
+        log.close();
+        Path segment = onlySegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 2));
+
+        // When
+        Trie recovered = new Trie();
+        TrieWriteAheadLog.replay(directory, 0, recovered);
+
+        // Then
+        assertEquals(List.of("durable"), recovered.words());
+    }
+
+    @Test
+    void testSnapshotCheckpointCompactsLog() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory.resolve("wal"), 60_000);
+        trie.setMutationListener(log);
+        trie.insert("snapshotted");
+        trie.insert("snapshotted");
+        Path snapshot = directory.resolve("trie.snapshot");
+
+        // When
+        TrieSnapshot.write(trie, snapshot, log);
+        trie.insert("logged");
+        log.close();
+
+        Trie recovered = new Trie();
+        long sequence = TrieSnapshot.restore(recovered, snapshot);
+        long applied = TrieWriteAheadLog.replay(directory.resolve("wal"), sequence, recovered);
+
+        // Then
+        assertEquals(1, applied);
+        assertEquals(List.of("logged", "snapshotted"), recovered.words());
+        assertEquals(2, recovered.frequency("snapshotted"));
+        try (Stream<Path> segments = Files.list(directory.resolve("wal"))) {
+            assertEquals(1, segments.count());
+        }
+    }
+
+    @Test
+    void testFailedLogDropsMutationsAndResumesAfterSnapshot() throws IOException {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory.resolve("wal"), 60_000);
+        trie.setMutationListener(log);
+        trie.insert("lost");
+        ((FileChannel) ReflectionTestUtils.getField(log, "channel")).close();
+        assertThrows(IOException.class, log::sync);
+        trie.insert("dropped");
+        assertEquals(0, (int) ReflectionTestUtils.getField(log, "pendingLength"));
+        assertThrows(IOException.class, log::sync);
+        Path snapshot = directory.resolve("trie.snapshot");
+
+        // When
+        TrieSnapshot.write(trie, snapshot, log);
+        trie.insert("logged");
+        log.close();
+
+        Trie recovered = new Trie();
+        long sequence = TrieSnapshot.restore(recovered, snapshot);
+        TrieWriteAheadLog.replay(directory.resolve("wal"), sequence, recovered);
+
+        // Then
+        assertEquals(List.of("dropped", "logged", "lost"), recovered.words());
+    }
+
+    @Test
+    void testBackgroundSyncWritesWithoutExplicitFlush() throws Exception {
+        // Given
+        Trie trie = new Trie();
+        TrieWriteAheadLog log = TrieWriteAheadLog.open(directory, 10);
+        trie.setMutationListener(log);
+
+        // When
+        trie.insert("eventually");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Files.size(onlySegment()) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        Trie recovered = new Trie();
+        TrieWriteAheadLog.replay(directory, 0, recovered);
+        assertTrue(recovered.search("eventually"));
+        log.close();
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.webscraper.trie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static com.webscraper.trie.BenchmarkSupport.WORDS_PER_RUN;
+import static com.webscraper.trie.BenchmarkSupport.randomWords;
+
+/**
+ * Glob patterns matched by walking the Trie with the pattern automaton against filtering every word.
+ * Skipped by default; run with {@code mvn test -Dtest=WildcardPatternBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WildcardPatternBenchmarkTest {
+
+    @Test
+    void patternVersusFilter() {
+        String[] words = randomWords(WORDS_PER_RUN * 5, 53);
+        Trie trie = new Trie();
+        trie.insertAll(Arrays.asList(words));
+        String[] patterns = {"te?h*", "[a-c]ontent", "*ing", "?a?e"};
+
+        for (int round = 0; round < 3; round++) {
+            for (String pattern : patterns) {
+                Pattern regex = Pattern.compile(pattern.replace("?", ".").replace("*", ".*"));
+                long begin = System.nanoTime();
+                int automatonHits = trie.findWordsMatching(pattern, Integer.MAX_VALUE).size();
+                long automaton = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                long filterHits = trie.words().stream().filter(word -> regex.matcher(word).matches()).count();
+                long filter = System.nanoTime() - begin;
+                log.info("pattern {} hits={} automaton={} us  enumerate+filter={} us (hits={})",
+                        pattern, automatonHits, automaton / 1_000, filter / 1_000, filterHits);
+            }
+        }
+    }
+}
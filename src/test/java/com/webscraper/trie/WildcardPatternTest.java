@@ -0,0 +1,83 @@
+package com.webscraper.trie;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WildcardPattern.
+ */
+class WildcardPatternTest {
+
+    @Test
+    void testMatchesWholeWords() {
+        // Given
+        WildcardPattern pattern = WildcardPattern.compile("a?c*");
+
+        // When & Then
+        assertTrue(matches(pattern, "abc"));
+        assertTrue(matches(pattern, "axcdef"));
+        assertFalse(matches(pattern, "ac"));
+        assertFalse(matches(pattern, "abd"));
+    }
+
+    @Test
+    void testCharacterClasses() {
+        // Given
+        WildcardPattern range = WildcardPattern.compile("[a-cx]1");
+        WildcardPattern negated = WildcardPattern.compile("[^a-c]1");
+
+        // When & Then
+        assertTrue(matches(range, "b1"));
+        assertTrue(matches(range, "x1"));
+        assertFalse(matches(range, "d1"));
+        assertTrue(matches(negated, "d1"));
+        assertFalse(matches(negated, "a1"));
+    }
+
+    @Test
+    void testEscapedMetacharacter() {
+        // Given
+        WildcardPattern pattern = WildcardPattern.compile("c\\*");
+
+        // When & Then
+        assertTrue(matches(pattern, "c*"));
+        assertFalse(matches(pattern, "cat"));
+    }
+
+    @Test
+    void testDeadStateAndRequiredCharacter() {
+        // Given
+        WildcardPattern pattern = WildcardPattern.compile("ab*");
+
+        // When
+        long afterA = pattern.step(pattern.initial(), 'a');
+        long afterB = pattern.step(afterA, 'b');
+
+        // Then
+        assertEquals('a', pattern.requiredCharacter(pattern.initial()));
+        assertEquals('b', pattern.requiredCharacter(afterA));
+        assertEquals(0, pattern.step(pattern.initial(), 'x'));
+        assertFalse(pattern.acceptsAnySuffix(afterA));
+        assertTrue(pattern.acceptsAnySuffix(afterB));
+        assertEquals(-1, pattern.requiredCharacter(afterB));
+    }
+
+    @Test
+    void testRejectsMalformedPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> WildcardPattern.compile("[abc"));
+        assertThrows(IllegalArgumentException.class, () -> WildcardPattern.compile("[]"));
+        assertThrows(IllegalArgumentException.class, () -> WildcardPattern.compile("[z-a]"));
+        assertThrows(IllegalArgumentException.class, () -> WildcardPattern.compile("abc\\"));
+        assertThrows(IllegalArgumentException.class,
+                () -> WildcardPattern.compile("?".repeat(WildcardPattern.MAX_ELEMENTS + 1)));
+    }
+
+    private static boolean matches(WildcardPattern pattern, String word) {
+        long states = pattern.initial();
+        for (int i = 0; i < word.length() && states != 0; i++) {
+            states = pattern.step(states, word.charAt(i));
+        }
+        return pattern.accepts(states);
+    }
+}